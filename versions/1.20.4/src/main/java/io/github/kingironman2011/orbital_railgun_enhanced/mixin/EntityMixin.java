@@ -0,0 +1,23 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.mixin;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.listener.PlayerAreaListener;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Entity.class)
+public class EntityMixin {
+    @Inject(method = "setPos", at = @At("HEAD"))
+    private void trackPlayerChunkCrossing(double x, double y, double z, CallbackInfo ci) {
+        Entity self = (Entity) (Object) this;
+        if (self instanceof ServerPlayerEntity player
+                && (MathHelper.floor(x) >> 4 != self.getBlockX() >> 4
+                        || MathHelper.floor(z) >> 4 != self.getBlockZ() >> 4)) {
+            PlayerAreaListener.onPlayerMoved(player);
+        }
+    }
+}
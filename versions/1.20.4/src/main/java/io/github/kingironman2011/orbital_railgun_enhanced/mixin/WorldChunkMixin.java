@@ -0,0 +1,23 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.mixin;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.utils.OrbitalRailgunStrikeManager;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.WorldChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(WorldChunk.class)
+public class WorldChunkMixin {
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void invalidateCraterPlans(
+            BlockPos pos, BlockState state, boolean moved, CallbackInfoReturnable<BlockState> cir) {
+        if (cir.getReturnValue() != null
+                && ((WorldChunk) (Object) this).getWorld() instanceof ServerWorld world) {
+            OrbitalRailgunStrikeManager.onBlockChanged(world, pos);
+        }
+    }
+}
@@ -55,6 +55,16 @@ public class CommandRegistry {
                                                                                     setRadiusValue(
                                                                                             context,
                                                                                             DoubleArgumentType.getDouble(context, "value")))))
+                                    .then(
+                                            CommandManager.literal("craterRadius")
+                                                    .executes(CommandRegistry::showCraterRadius)
+                                                    .then(
+                                                            CommandManager.argument("value", IntegerArgumentType.integer(1, 128))
+                                                                    .executes(
+                                                                            context ->
+                                                                                    setCraterRadius(
+                                                                                            context,
+                                                                                            IntegerArgumentType.getInteger(context, "value")))))
                                     .then(
                                             CommandManager.literal("strikeDamage")
                                                     .executes(CommandRegistry::showStrikeDamage)
@@ -123,6 +133,16 @@ public class CommandRegistry {
                                                                                     setRadiusValue(
                                                                                             context,
                                                                                             DoubleArgumentType.getDouble(context, "value")))))
+                                    .then(
+                                            CommandManager.literal("craterRadius")
+                                                    .executes(CommandRegistry::showCraterRadius)
+                                                    .then(
+                                                            CommandManager.argument("value", IntegerArgumentType.integer(1, 128))
+                                                                    .executes(
+                                                                            context ->
+                                                                                    setCraterRadius(
+                                                                                            context,
+                                                                                            IntegerArgumentType.getInteger(context, "value")))))
                                     .then(
                                             CommandManager.literal("strikeDamage")
                                                     .executes(CommandRegistry::showStrikeDamage)
@@ -199,6 +219,21 @@ public class CommandRegistry {
         return 1;
     }
 
+    private static int setCraterRadius(CommandContext<ServerCommandSource> context, int radius) {
+        ServerConfig.INSTANCE.setCraterRadius(radius);
+        context
+                .getSource()
+                .sendFeedback(
+                        () -> Text.translatable("command.orbital_railgun_enhanced.craterRadius.set", radius),
+                        true);
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            OrbitalRailgun.LOGGER.info(
+                    "Crater radius set to {} by {}", radius, context.getSource().getName());
+        }
+        return 1;
+    }
+
     private static int setStrikeDamage(CommandContext<ServerCommandSource> context, float damage) {
         ServerConfig.INSTANCE.setStrikeDamage(damage);
         context
@@ -290,6 +325,16 @@ public class CommandRegistry {
         return 1;
     }
 
+    private static int showCraterRadius(CommandContext<ServerCommandSource> context) {
+        int radius = ServerConfig.INSTANCE.getCraterRadius();
+        context
+                .getSource()
+                .sendFeedback(
+                        () -> Text.translatable("command.orbital_railgun_enhanced.craterRadius.current", radius),
+                        false);
+        return 1;
+    }
+
     private static int showStrikeDamage(CommandContext<ServerCommandSource> context) {
         float damage = ServerConfig.INSTANCE.getStrikeDamage();
         context
@@ -0,0 +1,132 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the contents of the containers a crater destroys and merges them into as few full
+ * stacks as possible. Once the crater is cleared the stacks are dropped as item entities spread
+ * around its rim. Anything past the stack cap is destroyed with the crater.
+ */
+final class CraterDrops {
+    private final int maxStacks;
+    private final List<ItemStack> stacks = new ArrayList<>();
+    private int itemsCollected;
+    private int itemsDiscarded;
+
+    CraterDrops(int maxStacks) {
+        this.maxStacks = Math.max(0, maxStacks);
+    }
+
+    /**
+     * Merges a stack into the collected ones, topping up matching stacks first.
+     */
+    void add(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return;
+        }
+        itemsCollected += stack.getCount();
+        for (ItemStack merged : stacks) {
+            if (merged.getCount() < merged.getMaxCount() && ItemStack.canCombine(merged, stack)) {
+                int moved = Math.min(stack.getCount(), merged.getMaxCount() - merged.getCount());
+                merged.increment(moved);
+                stack.decrement(moved);
+                if (stack.isEmpty()) {
+                    return;
+                }
+            }
+        }
+        if (stacks.size() < maxStacks) {
+            stacks.add(stack.copy());
+        } else {
+            itemsDiscarded += stack.getCount();
+        }
+        stack.setCount(0);
+    }
+
+    /**
+     * Drops the collected stacks evenly around the rim of the first crater, on the ground just
+     * outside every crater of the job. Where a rim column has no ground left to land on, the stack
+     * is dropped at {@code surfaceY}, the first crater's surface from before it was cleared.
+     *
+     * @return How many item entities were spawned
+     */
+    int spawn(ServerWorld world, BlockPos[] origins, int radius, int surfaceY) {
+        int count = stacks.size();
+        if (count == 0) {
+            return 0;
+        }
+        int[] originXs = new int[origins.length];
+        int[] originZs = new int[origins.length];
+        for (int i = 0; i < origins.length; i++) {
+            originXs[i] = origins[i].getX();
+            originZs[i] = origins[i].getZ();
+        }
+
+        int[] rim = rimColumns(count, originXs, originZs, radius);
+        BlockPos.Mutable below = new BlockPos.Mutable();
+        for (int i = 0; i < count; i++) {
+            int x = rim[i * 2];
+            int z = rim[i * 2 + 1];
+            int y = world.getTopY(Heightmap.Type.MOTION_BLOCKING, x, z);
+            below.set(x, y - 1, z);
+            if (y <= world.getBottomY() || world.getBlockState(below).getCollisionShape(world, below).isEmpty()) {
+                y = surfaceY;
+            }
+            world.spawnEntity(new ItemEntity(world, x + 0.5, y, z + 0.5, stacks.get(i), 0, 0, 0));
+        }
+        stacks.clear();
+        return count;
+    }
+
+    /**
+     * Spreads {@code count} columns evenly around the first origin. Each one starts at
+     * {@code radius + 1} blocks out and moves further along its direction until it is at least that
+     * far from every origin, so it lies outside every crater of a union job.
+     *
+     * @return The columns as interleaved {@code x, z} pairs
+     */
+    static int[] rimColumns(int count, int[] originXs, int[] originZs, int radius) {
+        int[] rim = new int[count * 2];
+        int clearance = radius + 1;
+        for (int i = 0; i < count; i++) {
+            double angle = Math.PI * 2 * i / count;
+            int x;
+            int z;
+            int distance = clearance;
+            do {
+                x = originXs[0] + (int) Math.round(Math.cos(angle) * distance);
+                z = originZs[0] + (int) Math.round(Math.sin(angle) * distance);
+                distance++;
+            } while (insideAny(x, z, originXs, originZs, clearance));
+            rim[i * 2] = x;
+            rim[i * 2 + 1] = z;
+        }
+        return rim;
+    }
+
+    private static boolean insideAny(int x, int z, int[] originXs, int[] originZs, int clearance) {
+        for (int i = 0; i < originXs.length; i++) {
+            long dx = x - originXs[i];
+            long dz = z - originZs[i];
+            if (dx * dx + dz * dz < (long) clearance * clearance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getItemsCollected() {
+        return itemsCollected;
+    }
+
+    int getItemsDiscarded() {
+        return itemsDiscarded;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Runs queued {@link CraterJob}s a few work units at a time so that several strikes landing
+ * together never cost more than the configured microsecond budget per tick. At least one unit is
+ * always run per tick so that a tiny budget still makes progress.
+ *
+ * <p>Jobs whose chunks are not loaded yet are held back until the chunk manager has loaded them,
+ * so the tick loop never blocks on chunk I/O. A job that waits longer than
+ * {@link #MAX_WAIT_TICKS} is queued anyway and loads its remaining chunks as it goes.
+ *
+ * <p>Each world has its own executor, ticked from that world's tick, so the budget applies per
+ * world and an executor is only ever touched by the thread ticking its world.
+ */
+public final class CraterExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+    private static final int MAX_WAIT_TICKS = 200;
+    private final Deque<CraterJob> jobs = new ArrayDeque<>();
+    private final List<CraterJob> waiting = new ArrayList<>();
+
+    public void submit(CraterJob job) {
+        if (!job.isChunksLoaded()) {
+            waiting.add(job);
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug("[CRATER] Holding crater at {} until its chunks are loaded", job.getOrigin());
+            }
+            return;
+        }
+
+        jobs.addLast(job);
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[CRATER] Queued crater at {} across {} chunks ({} jobs pending)",
+                    job.getOrigin(),
+                    job.getRemainingChunks(),
+                    jobs.size());
+        }
+    }
+
+    /**
+     * Runs work units from the front of the queue until the tick budget is used up.
+     */
+    public void tick() {
+        if (!waiting.isEmpty()) {
+            promoteWaiting();
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        long budgetNanos = ServerConfig.INSTANCE.getCraterTickBudgetMicros() * 1_000L;
+        long deadline = System.nanoTime() + budgetNanos;
+        CraterJob running = null;
+        do {
+            CraterJob job = jobs.peekFirst();
+            if (job == null) {
+                break;
+            }
+            if (job.step()) {
+                running = job;
+            } else {
+                jobs.pollFirst();
+                job.onTickSpent();
+                logCompleted(job);
+                running = null;
+            }
+        } while (System.nanoTime() < deadline);
+
+        if (running != null) {
+            running.onTickSpent();
+        }
+    }
+
+    private void promoteWaiting() {
+        Iterator<CraterJob> iterator = waiting.iterator();
+        while (iterator.hasNext()) {
+            CraterJob job = iterator.next();
+            boolean loaded = job.isChunksLoaded();
+            if (loaded || job.onTickWaited() >= MAX_WAIT_TICKS) {
+                iterator.remove();
+                jobs.addLast(job);
+                if (!loaded) {
+                    LOGGER.warn(
+                            "[CRATER] Chunks around {} did not load within {} ticks, clearing anyway",
+                            job.getOrigin(),
+                            MAX_WAIT_TICKS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs every pending job to completion, used when the server is stopping so that no crater is
+     * left half cleared.
+     */
+    public void finishAll() {
+        jobs.addAll(waiting);
+        waiting.clear();
+
+        CraterJob job;
+        while ((job = jobs.pollFirst()) != null) {
+            while (job.step()) {
+                // Drain the remaining work units
+            }
+            logCompleted(job);
+        }
+    }
+
+    public int getPendingJobs() {
+        return jobs.size() + waiting.size();
+    }
+
+    private static void logCompleted(CraterJob job) {
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[CRATER] Crater at {} finished: {} blocks in {} chunks, {} sections, {} block entities, {} drops, {} shell updates, {} fluids frozen, {} blocks settled over {} ticks after waiting {} ({} ms of work, {} ms lighting)",
+                    job.getOrigin(),
+                    job.getBlocksCleared(),
+                    job.getChunksTouched(),
+                    job.getSectionsVisited(),
+                    job.getBlockEntitiesRemoved(),
+                    job.getDropsSpawned(),
+                    job.getShellUpdates(),
+                    job.getFluidsFrozen(),
+                    job.getBlocksSettled(),
+                    job.getTicksSpent(),
+                    job.getWaitedTicks(),
+                    job.getWorkNanos() / 1_000_000.0,
+                    job.getLightingNanos() / 1_000_000.0);
+        }
+    }
+}
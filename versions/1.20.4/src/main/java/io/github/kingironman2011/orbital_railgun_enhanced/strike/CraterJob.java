@@ -0,0 +1,417 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A crater split into resumable work units, one per (chunk, section) pair. Units are run chunk by
+ * chunk so that each chunk can be finished as soon as its last section has been cleared, which
+ * lets the work be spread over several ticks. When a tick's budget runs out partway through a
+ * chunk, that chunk stays partly cleared until the next tick; its heightmaps are fixed and it is
+ * sent to clients only once its last section is done.
+ *
+ * <p>The section range of a chunk is worked out when the chunk is opened: it is clamped to the
+ * crater bounds and to the chunk's {@code WORLD_SURFACE} heightmap, so sections that only hold
+ * sky air are never visited.
+ *
+ * <p>With {@link CraterLighting#BATCHED} lighting, cleared chunks are queued and relit one chunk
+ * per unit once every chunk has been cleared; the time spent on lighting is tracked separately.
+ *
+ * <p>Blocks are cleared without neighbor or shape updates. Once every chunk is done, the job runs
+ * one more phase that sends those updates from the crater's outer shell only, one column per unit,
+ * so that redstone, fluids and attached blocks at the rim still react to the crater. The same phase
+ * applies the configured {@link CraterContainment} to the rim first.
+ *
+ * <p>A job can also clear the union of several overlapping craters, for strikes landing in the
+ * same tick. Each chunk is then opened once, each of its sections is cleared for every crater
+ * that reaches it, and the chunk, light and shell passes run once for the whole union, so blocks
+ * shared by the craters are cleared and updated only once.
+ *
+ * <p>Sections covered by a finished {@link CraterPlan} clear only the cells the plan found instead
+ * of walking the mask.
+ *
+ * <p>Block entities are torn down per chunk once the chunk is cleared. The contents of destroyed
+ * containers are merged into at most {@code craterDropStacks} stacks, which are dropped around the
+ * rim of the first crater, outside every crater of the job, after the last chunk is done.
+ */
+public final class CraterJob {
+    private final ServerWorld world;
+    private final BlockPos[] origins;
+    private final CraterMask mask;
+    private final CraterBounds bounds;
+    private final int[] minY;
+    private final int[] maxY;
+    private final long[] chunks;
+    private final CraterLighting lighting;
+    private final Deque<PendingLight> pendingLight = new ArrayDeque<>();
+    private final CraterShell shell;
+    private final List<CraterTicket> tickets = new ArrayList<>();
+    private final CraterPlan[] plans;
+    private final CraterDrops drops;
+    private final int dropSurfaceY;
+    private int chunkCursor;
+    private int waitedTicks;
+
+    private WorldChunk chunk;
+    private CraterEngine.ChunkColumns columns;
+    private int sectionY;
+    private int topSectionY;
+
+    private int blocksCleared;
+    private int chunksTouched;
+    private int sectionsVisited;
+    private int sectionsPlanned;
+    private int sectionsSkipped;
+    private int shellUpdates;
+    private int blockEntitiesRemoved;
+    private int dropsSpawned;
+    private int ticksSpent;
+    private long workNanos;
+    private long lightingNanos;
+
+    public CraterJob(ServerWorld world, BlockPos origin, CraterMask mask, CraterBounds bounds) {
+        this(world, List.of(origin), mask, bounds);
+    }
+
+    /**
+     * Creates one job that clears the union of the craters around each of {@code origins}.
+     */
+    public CraterJob(ServerWorld world, List<BlockPos> origins, CraterMask mask, CraterBounds bounds) {
+        this.world = world;
+        this.origins = new BlockPos[origins.size()];
+        this.mask = mask;
+        this.bounds = bounds;
+        this.minY = new int[origins.size()];
+        this.maxY = new int[origins.size()];
+        this.plans = new CraterPlan[origins.size()];
+
+        int radius = mask.getRadius();
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        LongLinkedOpenHashSet footprint = new LongLinkedOpenHashSet();
+        for (int i = 0; i < this.origins.length; i++) {
+            BlockPos origin = origins.get(i).toImmutable();
+            this.origins[i] = origin;
+            this.minY[i] = bounds.minY(world, origin.getY(), mask);
+            this.maxY[i] = bounds.maxY(world, origin.getY());
+            minX = Math.min(minX, origin.getX() - radius);
+            minZ = Math.min(minZ, origin.getZ() - radius);
+            maxX = Math.max(maxX, origin.getX() + radius);
+            maxZ = Math.max(maxZ, origin.getZ() + radius);
+            for (long chunkPos : mask.footprint(origin)) {
+                footprint.add(chunkPos);
+            }
+        }
+
+        this.lighting = ServerConfig.INSTANCE.getCraterLighting();
+        boolean shellUpdates = ServerConfig.INSTANCE.isCraterShellUpdates();
+        CraterContainment containment = ServerConfig.INSTANCE.getCraterContainment();
+        this.shell = shellUpdates || containment != CraterContainment.NONE
+                ? new CraterShell(minX, minZ, maxX, maxZ, shellUpdates, containment)
+                : null;
+        this.chunks = footprint.toLongArray();
+        this.drops = new CraterDrops(ServerConfig.INSTANCE.getCraterDropStacks());
+        // Read before anything is cleared, as a fallback for rim columns with no ground left
+        this.dropSurfaceY = world.getTopY(Heightmap.Type.MOTION_BLOCKING, this.origins[0].getX(), this.origins[0].getZ());
+    }
+
+    /**
+     * Uses the cells found by a plan for the crater at {@code crater} in the list of origins. A plan
+     * that has not finished by the time its chunks are cleared is ignored.
+     */
+    public void usePlan(int crater, CraterPlan plan) {
+        plans[crater] = plan;
+    }
+
+    /**
+     * Hands over chunk tickets that kept this crater's chunks loaded; they are released as soon as
+     * the job is done. A union job takes the tickets of each of its strikes.
+     */
+    public void releaseWhenDone(CraterTicket ticket) {
+        tickets.add(ticket);
+        if (isDone()) {
+            releaseTickets();
+        }
+    }
+
+    /**
+     * @return true if every chunk the job still has to visit is loaded, so that running it cannot
+     *     block on chunk loading or generation
+     */
+    public boolean isChunksLoaded() {
+        for (int i = chunkCursor; i < chunks.length; i++) {
+            int chunkX = ChunkPos.getPackedX(chunks[i]);
+            int chunkZ = ChunkPos.getPackedZ(chunks[i]);
+            if (!world.getChunkManager().isChunkLoaded(chunkX, chunkZ)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs the next work unit.
+     *
+     * @return true if there is more work left after this unit
+     */
+    public boolean step() {
+        if (isDone()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        if (chunkCursor < chunks.length) {
+            clearNextSection();
+        } else if (!pendingLight.isEmpty()) {
+            relight(pendingLight.pollFirst());
+        } else {
+            shellUpdates += shell.updateNextColumn(world);
+        }
+
+        workNanos += System.nanoTime() - start;
+        if (isDone()) {
+            releaseTickets();
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseTickets() {
+        for (CraterTicket ticket : tickets) {
+            ticket.release();
+        }
+        tickets.clear();
+    }
+
+    private void clearNextSection() {
+        if (chunk == null) {
+            openChunk(chunks[chunkCursor]);
+        }
+
+        if (sectionY < topSectionY) {
+            int index = chunk.sectionCoordToIndex(sectionY);
+            ChunkSection section = chunk.getSectionArray()[index];
+            if (section.isEmpty()) {
+                sectionsSkipped++;
+            } else {
+                long sectionPos = ChunkSectionPos.asLong(chunk.getPos().x, sectionY, chunk.getPos().z);
+                for (int crater = columns.reaching.nextSetBit(0);
+                        crater >= 0 && !section.isEmpty();
+                        crater = columns.reaching.nextSetBit(crater + 1)) {
+                    short[] cells = plans[crater] != null ? plans[crater].cells(sectionPos) : null;
+                    if (cells != null) {
+                        blocksCleared += CraterEngine.applyPlan(world, chunk, index, cells, crater, columns);
+                        sectionsPlanned++;
+                    } else {
+                        blocksCleared += CraterEngine.clearSection(
+                                world, chunk, index, origins[crater], crater, mask, columns);
+                    }
+                }
+                sectionsVisited++;
+            }
+            sectionY++;
+        }
+
+        if (sectionY >= topSectionY) {
+            if (columns.touched) {
+                blockEntitiesRemoved += CraterEngine.removeBlockEntities(world, chunk, columns, drops);
+                CraterEngine.finishChunk(world, chunk);
+                PendingLight light = new PendingLight(chunk, columns);
+                if (lighting == CraterLighting.BATCHED) {
+                    pendingLight.addLast(light);
+                } else {
+                    relight(light);
+                }
+                chunksTouched++;
+            }
+            chunk = null;
+            columns = null;
+            chunkCursor++;
+            if (chunkCursor == chunks.length) {
+                dropsSpawned = drops.spawn(world, origins, mask.getRadius(), dropSurfaceY);
+            }
+        }
+    }
+
+    private void relight(PendingLight light) {
+        long start = System.nanoTime();
+        CraterEngine.relightChunk(world, light.chunk(), light.columns());
+        lightingNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Loads the per-column limits of every crater reaching the next chunk and works out which of
+     * its sections can hold anything to clear.
+     */
+    private void openChunk(long chunkPos) {
+        int chunkX = ChunkPos.getPackedX(chunkPos);
+        int chunkZ = ChunkPos.getPackedZ(chunkPos);
+        chunk = world.getChunk(chunkX, chunkZ);
+        columns = new CraterEngine.ChunkColumns(shell, origins.length);
+
+        int radius = mask.getRadius();
+        int lowest = Integer.MAX_VALUE;
+        int highest = Integer.MIN_VALUE;
+        for (int crater = 0; crater < origins.length; crater++) {
+            BlockPos origin = origins[crater];
+            if (chunkX < (origin.getX() - radius) >> 4 || chunkX > (origin.getX() + radius) >> 4
+                    || chunkZ < (origin.getZ() - radius) >> 4 || chunkZ > (origin.getZ() + radius) >> 4) {
+                continue;
+            }
+            for (int localZ = 0; localZ < 16; localZ++) {
+                for (int localX = 0; localX < 16; localX++) {
+                    int surfaceY = chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, localX, localZ);
+                    int columnMin = bounds.columnMinY(surfaceY, minY[crater]);
+                    int columnMax = Math.min(maxY[crater], surfaceY);
+                    columns.limit(crater, localX, localZ, columnMin, columnMax);
+                    if (columnMin <= columnMax) {
+                        lowest = Math.min(lowest, columnMin);
+                        highest = Math.max(highest, columnMax);
+                    }
+                }
+            }
+        }
+
+        if (lowest > highest) {
+            sectionY = 0;
+            topSectionY = 0;
+        } else {
+            sectionY = ChunkSectionPos.getSectionCoord(lowest);
+            topSectionY = ChunkSectionPos.getSectionCoord(highest) + 1;
+        }
+    }
+
+    /**
+     * Called by the executor once per tick in which this job received any budget.
+     */
+    void onTickSpent() {
+        ticksSpent++;
+    }
+
+    /**
+     * Called by the executor once per tick in which this job is held back for unloaded chunks.
+     *
+     * @return How many ticks the job has been waiting so far
+     */
+    int onTickWaited() {
+        return ++waitedTicks;
+    }
+
+    public boolean isDone() {
+        return chunkCursor >= chunks.length && pendingLight.isEmpty() && (shell == null || shell.isDone());
+    }
+
+    /**
+     * @return The impact position of the first crater of the job
+     */
+    public BlockPos getOrigin() {
+        return origins[0];
+    }
+
+    /**
+     * @return How many overlapping craters this job clears together
+     */
+    public int getCraterCount() {
+        return origins.length;
+    }
+
+    public int getRemainingChunks() {
+        return chunks.length - chunkCursor;
+    }
+
+    public int getBlocksCleared() {
+        return blocksCleared;
+    }
+
+    public int getChunksTouched() {
+        return chunksTouched;
+    }
+
+    public int getSectionsVisited() {
+        return sectionsVisited;
+    }
+
+    /**
+     * @return How many section clears used a prebuilt plan instead of walking the mask
+     */
+    public int getSectionsPlanned() {
+        return sectionsPlanned;
+    }
+
+    public int getSectionsSkipped() {
+        return sectionsSkipped;
+    }
+
+    public int getShellUpdates() {
+        return shellUpdates;
+    }
+
+    /**
+     * @return How many rim fluid blocks were frozen by {@link CraterContainment}
+     */
+    public int getFluidsFrozen() {
+        return shell != null ? shell.getFluidsFrozen() : 0;
+    }
+
+    /**
+     * @return How many gravity blocks were moved down by {@link CraterContainment}
+     */
+    public int getBlocksSettled() {
+        return shell != null ? shell.getBlocksSettled() : 0;
+    }
+
+    public int getBlockEntitiesRemoved() {
+        return blockEntitiesRemoved;
+    }
+
+    /**
+     * @return How many merged item stacks were dropped from destroyed containers
+     */
+    public int getDropsSpawned() {
+        return dropsSpawned;
+    }
+
+    /**
+     * @return How many container items were destroyed because the drop stack cap was reached
+     */
+    public int getItemsDiscarded() {
+        return drops.getItemsDiscarded();
+    }
+
+    public int getWaitedTicks() {
+        return waitedTicks;
+    }
+
+    public int getTicksSpent() {
+        return ticksSpent;
+    }
+
+    public long getWorkNanos() {
+        return workNanos;
+    }
+
+    /**
+     * @return The part of {@link #getWorkNanos()} spent relighting cleared chunks
+     */
+    public long getLightingNanos() {
+        return lightingNanos;
+    }
+
+    private record PendingLight(WorldChunk chunk, CraterEngine.ChunkColumns columns) {
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed crater footprint stored as run-length rows: for every X offset a layer keeps the
+ * half width {@code w} of its Z span, so the cleared cells of that row are {@code [-w, w]}. This
+ * lets the clearing loop fill whole spans instead of testing every cell of every Y level.
+ *
+ * <p>Masks are built once per (shape, radius) and kept in a small LRU cache, so changing the
+ * radius at runtime costs one build on the next strike and nothing on the ones after it.
+ */
+public final class CraterMask {
+    private static final int CACHE_SIZE = 16;
+    private static final Map<Long, CraterMask> CACHE =
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, CraterMask> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    private final CraterShape shape;
+    private final int radius;
+    private final Layer full;
+    private final Layer[] below;
+
+    private CraterMask(CraterShape shape, int radius) {
+        this.shape = shape;
+        this.radius = radius;
+        this.full = new Layer(radius * radius);
+
+        int depth = Math.min(shape.maxDepth(radius), radius);
+        this.below = new Layer[depth + 1];
+        for (int d = 1; d <= depth; d++) {
+            int radiusSquared = shape.layerRadiusSquared(radius, d);
+            below[d] = radiusSquared == full.radiusSquared ? full : new Layer(radiusSquared);
+        }
+        below[0] = full;
+    }
+
+    /**
+     * Returns the cached mask for the given shape and radius, building it on first use.
+     */
+    public static CraterMask get(CraterShape shape, int radius) {
+        long key = (long) shape.ordinal() << 32 | radius;
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(key, k -> new CraterMask(shape, radius));
+        }
+    }
+
+    static int cachedMasks() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * @param dy Offset from the impact Y level (negative is below the impact point)
+     * @return The layer cleared at that offset, or null if the crater does not reach it
+     */
+    public Layer layerAt(int dy) {
+        if (dy >= 0 || shape == CraterShape.DISK) {
+            return full;
+        }
+        int depth = -dy;
+        return depth < below.length ? below[depth] : null;
+    }
+
+    public CraterShape getShape() {
+        return shape;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getRadiusSquared() {
+        return full.radiusSquared;
+    }
+
+    /**
+     * @return The packed positions of every chunk the crater can reach when centered on
+     *     {@code origin}
+     */
+    public long[] footprint(BlockPos origin) {
+        int minChunkX = (origin.getX() - radius) >> 4;
+        int maxChunkX = (origin.getX() + radius) >> 4;
+        int minChunkZ = (origin.getZ() - radius) >> 4;
+        int maxChunkZ = (origin.getZ() + radius) >> 4;
+
+        long[] chunks = new long[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+        int i = 0;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                chunks[i++] = ChunkPos.toLong(chunkX, chunkZ);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * @return How many blocks below the impact point the crater reaches, or
+     *     {@link Integer#MAX_VALUE} if it goes down to the bottom of the world
+     */
+    public int getMaxDepth() {
+        return shape.maxDepth(radius);
+    }
+
+    /**
+     * One horizontal slice of the crater.
+     */
+    public static final class Layer {
+        final int radiusSquared;
+        final int radius;
+        final int[] halfWidth;
+        final int cells;
+
+        Layer(int radiusSquared) {
+            this.radiusSquared = radiusSquared;
+            this.radius = (int) Math.floor(Math.sqrt(radiusSquared));
+            this.halfWidth = new int[radius * 2 + 1];
+
+            int count = 0;
+            for (int dx = -radius; dx <= radius; dx++) {
+                int w = (int) Math.floor(Math.sqrt(radiusSquared - dx * dx));
+                halfWidth[dx + radius] = w;
+                count += w * 2 + 1;
+            }
+            this.cells = count;
+        }
+
+        /**
+         * @return The largest X (and Z) offset covered by this layer
+         */
+        public int radius() {
+            return radius;
+        }
+
+        /**
+         * @return The half width of the Z span for the row at {@code dx}; only valid for
+         *     {@code |dx| <= radius()}
+         */
+        public int halfWidth(int dx) {
+            return halfWidth[dx + radius];
+        }
+
+        public boolean contains(int dx, int dz) {
+            return dx >= -radius && dx <= radius && Math.abs(dz) <= halfWidth[dx + radius];
+        }
+
+        public int cells() {
+            return cells;
+        }
+    }
+}
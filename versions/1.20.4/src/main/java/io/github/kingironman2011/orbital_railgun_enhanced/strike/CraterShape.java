@@ -0,0 +1,47 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * Vertical profile of a crater. Everything at or above the impact point is always cleared with the
+ * full radius (the beam column); the shape only decides how the crater narrows below it.
+ */
+public enum CraterShape {
+    /**
+     * Full radius all the way down to the bottom of the world.
+     */
+    DISK,
+    /**
+     * A bowl that narrows like a sphere and ends one radius below the impact point.
+     */
+    HEMISPHERE,
+    /**
+     * A funnel that narrows linearly and ends one radius below the impact point.
+     */
+    CONE;
+
+    /**
+     * @param radius The crater radius
+     * @param depth  How many blocks below the impact point the layer is (0 = impact level)
+     * @return The squared horizontal radius of the layer, or -1 if nothing is cleared at that depth
+     */
+    public int layerRadiusSquared(int radius, int depth) {
+        if (depth <= 0 || this == DISK) {
+            return radius * radius;
+        }
+        if (depth > radius) {
+            return -1;
+        }
+        return switch (this) {
+            case HEMISPHERE -> radius * radius - depth * depth;
+            case CONE -> (radius - depth) * (radius - depth);
+            default -> radius * radius;
+        };
+    }
+
+    /**
+     * @return How far below the impact point this shape reaches, or {@link Integer#MAX_VALUE} if it
+     *     is not bounded
+     */
+    public int maxDepth(int radius) {
+        return this == DISK ? Integer.MAX_VALUE : radius;
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.FallingBlock;
+import net.minecraft.block.FluidBlock;
+import net.minecraft.block.Waterloggable;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.state.property.Properties;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the vertical extent cleared in every column of a crater so that, once clearing is done,
+ * neighbor and shape updates can be sent from the crater's outer shell only. Blocks inside the
+ * crater only border other cleared blocks, so updating them would just notify air.
+ *
+ * <p>Each column of a crater is one contiguous Y interval (mask layers only shrink with depth), so
+ * a cleared block is on the shell when it is the top or bottom of its column, or when one of its
+ * four horizontal neighbors was not cleared at that height. When overlapping craters are cleared
+ * together a column can have gaps, so positions that are not air any more are never updated.
+ *
+ * <p>The same column spans drive {@link CraterContainment}: before a column's updates are sent,
+ * the fluids just outside it are frozen or drained and the gravity blocks hanging over it are
+ * moved down to where they would land. Both are placed without neighbor updates, so neither
+ * schedules fluid ticks nor spawns falling block entities, and the work stays bounded by the size
+ * of the shell.
+ */
+final class CraterShell {
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+    private static final BlockState ICE = Blocks.ICE.getDefaultState();
+    private static final BlockState OBSIDIAN = Blocks.OBSIDIAN.getDefaultState();
+    private static final BlockState COBBLESTONE = Blocks.COBBLESTONE.getDefaultState();
+
+    private final int minX;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final int[] low;
+    private final int[] high;
+    private final boolean updates;
+    private final CraterContainment containment;
+    private int cursor;
+    private int fluidsFrozen;
+    private int blocksSettled;
+
+    /**
+     * Covers every column from {@code (minX, minZ)} to {@code (maxX, maxZ)}, inclusive.
+     *
+     * @param updates Whether neighbor and shape updates are sent from the shell
+     */
+    CraterShell(int minX, int minZ, int maxX, int maxZ, boolean updates, CraterContainment containment) {
+        this.updates = updates;
+        this.containment = containment;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.sizeX = maxX - minX + 1;
+        this.sizeZ = maxZ - minZ + 1;
+        this.low = new int[sizeX * sizeZ];
+        this.high = new int[sizeX * sizeZ];
+        Arrays.fill(low, Integer.MAX_VALUE);
+        Arrays.fill(high, Integer.MIN_VALUE);
+    }
+
+    void record(int x, int y, int z) {
+        int column = (x - minX) * sizeZ + (z - minZ);
+        if (y < low[column]) {
+            low[column] = y;
+        }
+        if (y > high[column]) {
+            high[column] = y;
+        }
+    }
+
+    boolean isDone() {
+        return cursor >= low.length;
+    }
+
+    int getFluidsFrozen() {
+        return fluidsFrozen;
+    }
+
+    int getBlocksSettled() {
+        return blocksSettled;
+    }
+
+    /**
+     * Contains the rim of the next column that was cleared, then sends neighbor and shape updates
+     * for its shell blocks.
+     *
+     * @return The number of shell positions that were updated
+     */
+    int updateNextColumn(ServerWorld world) {
+        while (cursor < low.length && low[cursor] > high[cursor]) {
+            cursor++;
+        }
+        if (isDone()) {
+            return 0;
+        }
+
+        int column = cursor++;
+        int dx = column / sizeZ;
+        int dz = column % sizeZ;
+        int bottom = low[column];
+        int top = high[column];
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        if (containment.freezesFluids()) {
+            freezeRim(world, dx, dz, bottom, top, pos);
+        }
+        if (containment.settlesFallingBlocks()) {
+            settleAbove(world, minX + dx, top, minZ + dz, pos);
+        }
+        if (!updates) {
+            return 0;
+        }
+
+        boolean edge = false;
+        int coveredLow = Integer.MIN_VALUE;
+        int coveredHigh = Integer.MAX_VALUE;
+        for (int side = 0; side < 4; side++) {
+            int nx = dx + (side == 0 ? 1 : side == 1 ? -1 : 0);
+            int nz = dz + (side == 2 ? 1 : side == 3 ? -1 : 0);
+            if (nx < 0 || nx >= sizeX || nz < 0 || nz >= sizeZ) {
+                edge = true;
+                break;
+            }
+            int neighbor = nx * sizeZ + nz;
+            if (low[neighbor] > high[neighbor]) {
+                edge = true;
+                break;
+            }
+            coveredLow = Math.max(coveredLow, low[neighbor]);
+            coveredHigh = Math.min(coveredHigh, high[neighbor]);
+        }
+
+        int updated = 0;
+        for (int y = bottom; y <= top; y++) {
+            if (edge || y == bottom || y == top || y < coveredLow || y > coveredHigh) {
+                pos.set(minX + dx, y, minZ + dz);
+                if (!world.getBlockState(pos).isAir()) {
+                    continue;
+                }
+                world.updateNeighbors(pos, Blocks.AIR);
+                AIR.updateNeighbors(world, pos, Block.NOTIFY_ALL);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Freezes the fluids bordering a column: the ones beside each cleared height that the
+     * neighboring column did not clear, and the one resting on top of the column.
+     */
+    private void freezeRim(ServerWorld world, int dx, int dz, int bottom, int top, BlockPos.Mutable pos) {
+        for (int side = 0; side < 4; side++) {
+            int nx = dx + (side == 0 ? 1 : side == 1 ? -1 : 0);
+            int nz = dz + (side == 2 ? 1 : side == 3 ? -1 : 0);
+            int neighbor = nx < 0 || nx >= sizeX || nz < 0 || nz >= sizeZ ? -1 : nx * sizeZ + nz;
+            for (int y = bottom; y <= top; y++) {
+                if (neighbor >= 0 && y >= low[neighbor] && y <= high[neighbor]) {
+                    continue;
+                }
+                freeze(world, pos.set(minX + nx, y, minZ + nz));
+            }
+        }
+        freeze(world, pos.set(minX + dx, top + 1, minZ + dz));
+    }
+
+    /**
+     * Only plain fluid blocks are replaced: water sources become ice, flowing water is drained,
+     * and lava becomes obsidian or cobblestone. Waterlogged blocks are drained and otherwise kept,
+     * and other blocks holding fluid, such as kelp and seagrass, are left alone.
+     */
+    private void freeze(ServerWorld world, BlockPos pos) {
+        BlockState state = world.getBlockState(pos);
+        FluidState fluid = state.getFluidState();
+        if (fluid.isEmpty()) {
+            return;
+        }
+        BlockState frozen;
+        if (state.getBlock() instanceof FluidBlock) {
+            if (fluid.isIn(FluidTags.LAVA)) {
+                frozen = fluid.isStill() ? OBSIDIAN : COBBLESTONE;
+            } else {
+                frozen = fluid.isStill() ? ICE : AIR;
+            }
+        } else if (state.getBlock() instanceof Waterloggable && state.contains(Properties.WATERLOGGED)) {
+            frozen = state.with(Properties.WATERLOGGED, false);
+        } else {
+            return;
+        }
+        world.setBlockState(pos, frozen, Block.NOTIFY_LISTENERS);
+        fluidsFrozen++;
+    }
+
+    /**
+     * Moves the stack of gravity blocks resting on top of a column down onto whatever is below the
+     * air under it, keeping their order, as if they had fallen.
+     */
+    private void settleAbove(ServerWorld world, int x, int top, int z, BlockPos.Mutable pos) {
+        int count = 0;
+        while (top + 1 + count < world.getTopY()
+                && world.getBlockState(pos.set(x, top + 1 + count, z)).getBlock() instanceof FallingBlock) {
+            count++;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        int landing = top + 1;
+        while (landing > world.getBottomY() && world.getBlockState(pos.set(x, landing - 1, z)).isAir()) {
+            landing--;
+        }
+        int drop = top + 1 - landing;
+        if (drop == 0) {
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            BlockState state = world.getBlockState(pos.set(x, top + 1 + i, z));
+            world.setBlockState(pos.set(x, landing + i, z), state, Block.NOTIFY_LISTENERS);
+        }
+        for (int y = Math.max(landing + count, top + 1); y <= top + count; y++) {
+            world.setBlockState(pos.set(x, y, z), AIR, Block.NOTIFY_LISTENERS);
+        }
+        blocksSettled += count;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chunk tickets over a crater's footprint, taken when its strike is registered and released once
+ * the crater has been cleared. Adding the tickets makes the chunk manager load, or generate, the
+ * chunks in the background during the strike's charge-up, so the impact finds them in memory.
+ *
+ * <p>Every ticket set carries its own id, so strikes sharing a chunk never release each other's
+ * tickets.
+ */
+public final class CraterTicket {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+    private static final ChunkTicketType<Long> TYPE =
+            ChunkTicketType.create("orbital_railgun_enhanced_crater", Long::compare);
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final ServerWorld world;
+    private final long[] chunks;
+    private final long id;
+    private boolean released;
+
+    private CraterTicket(ServerWorld world, long[] chunks, long id) {
+        this.world = world;
+        this.chunks = chunks;
+        this.id = id;
+    }
+
+    /**
+     * Adds a ticket to every chunk the crater around {@code origin} can reach.
+     */
+    public static CraterTicket acquire(ServerWorld world, BlockPos origin, CraterMask mask) {
+        CraterTicket ticket = new CraterTicket(world, mask.footprint(origin), NEXT_ID.incrementAndGet());
+        for (long chunkPos : ticket.chunks) {
+            world.getChunkManager().addTicket(TYPE, new ChunkPos(chunkPos), 0, ticket.id);
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug("[CRATER] Added chunk tickets for {} chunks around {}", ticket.chunks.length, origin);
+        }
+        return ticket;
+    }
+
+    /**
+     * Removes the tickets again. Calling this more than once has no effect.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        for (long chunkPos : chunks) {
+            world.getChunkManager().removeTicket(TYPE, new ChunkPos(chunkPos), 0, id);
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug("[CRATER] Released chunk tickets for {} chunks", chunks.length);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * The pull-phase force of a strike, worked out on plain doubles so that applying it to an entity
+ * allocates nothing. {@link #begin} loads the strike's center, reach and pull progress once per
+ * strike and tick; {@link #compute} then fills in the velocity to add for one entity position.
+ *
+ * <p>The pull is strongest on a ring {@value #RING_RADIUS} blocks from the center, ramps up over
+ * the pull phase, and is capped at the profile's pull strength, {@value #MAX_STRENGTH} blocks per
+ * tick by default.
+ *
+ * <p>Holds scratch state; one instance must only be used from one thread.
+ */
+public final class PullKernel {
+    static final double RING_RADIUS = 20.0;
+    static final double MAX_STRENGTH = 5.0;
+    private static final double MIN_DISTANCE = 1.0E-4;
+
+    private double centerX;
+    private double centerY;
+    private double centerZ;
+    private double radiusSquared;
+    private double ramp;
+    private double maxStrength;
+
+    private double velocityX;
+    private double velocityY;
+    private double velocityZ;
+
+    /**
+     * Loads a strike with the default pull duration and strength.
+     *
+     * @param pullTicks How many ticks the pull has been running
+     */
+    public void begin(double centerX, double centerY, double centerZ, double radius, int pullTicks) {
+        begin(centerX, centerY, centerZ, radius, pullTicks, Strike.IMPACT_TICKS - Strike.PULL_START_TICKS, MAX_STRENGTH);
+    }
+
+    /**
+     * Loads the strike that the following {@link #compute} calls are for.
+     *
+     * @param pullTicks    How many ticks the pull has been running
+     * @param pullDuration How many ticks the whole pull phase lasts
+     * @param maxStrength  The most velocity added per tick
+     */
+    public void begin(
+            double centerX,
+            double centerY,
+            double centerZ,
+            double radius,
+            int pullTicks,
+            int pullDuration,
+            double maxStrength) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.radiusSquared = radius * radius;
+        this.ramp = 4.0 * pullTicks / pullDuration;
+        this.maxStrength = maxStrength;
+    }
+
+    /**
+     * Works out the velocity to add to an entity at the given position.
+     *
+     * @return false if the entity is out of reach or at the center, in which case nothing should be
+     *     applied
+     */
+    public boolean compute(double x, double y, double z) {
+        double dx = centerX - x;
+        double dy = centerY - y;
+        double dz = centerZ - z;
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        if (distanceSquared > radiusSquared) {
+            return false;
+        }
+
+        double distance = Math.sqrt(distanceSquared);
+        if (distance < MIN_DISTANCE) {
+            return false;
+        }
+
+        double strength = Math.min(ramp / Math.abs(distance - RING_RADIUS), maxStrength);
+        double scale = strength / distance;
+        velocityX = dx * scale;
+        velocityY = dy * scale;
+        velocityZ = dz * scale;
+        return true;
+    }
+
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    public double getVelocityZ() {
+        return velocityZ;
+    }
+}
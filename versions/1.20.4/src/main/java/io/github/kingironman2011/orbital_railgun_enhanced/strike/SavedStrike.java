@@ -0,0 +1,15 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * What is saved of a pending strike: enough to register it again after a restart with the same
+ * remaining delay.
+ *
+ * @param target    The impact position, packed with {@code BlockPos.asLong}
+ * @param firedTick The world time at which the strike was fired
+ * @param profile   The id of the strike's profile
+ */
+public record SavedStrike(long target, long firedTick, String profile) {
+    public static SavedStrike of(Strike strike) {
+        return new SavedStrike(strike.getTarget().asLong(), strike.getFiredTick(), strike.getProfile().id().toString());
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decides whether a fired strike may start now, has to wait, or is turned away. A strike needs a
+ * free slot both on the server ({@code maxActiveStrikes}) and in its dimension
+ * ({@code maxStrikesPerDimension}, where 0 means no per-dimension limit). Strikes that cannot start
+ * wait in a bounded FIFO queue and are handed out again, oldest first, as slots are released.
+ *
+ * <p>Thread safe: strikes are admitted on the server thread, but their slots are released from
+ * the tick of the world they land in, which may run on another thread.
+ *
+ * @param <K> The dimension key type
+ * @param <T> The strike request type
+ */
+public final class StrikeAdmission<K, T> {
+    private final Function<T, K> dimensionOf;
+    private final Map<K, Integer> activePerDimension = new HashMap<>();
+    private final Deque<T> queue = new ArrayDeque<>();
+    private int active;
+
+    public StrikeAdmission(Function<T, K> dimensionOf) {
+        this.dimensionOf = dimensionOf;
+    }
+
+    /**
+     * Takes a slot for {@code request} if one is free, otherwise queues or rejects it.
+     */
+    public synchronized Decision admit(T request, Limits limits) {
+        K dimension = dimensionOf.apply(request);
+        if (hasSlot(dimension, limits)) {
+            acquire(dimension);
+            return Decision.START;
+        }
+        if (limits.policy() == StrikeOverflowPolicy.QUEUE && queue.size() < limits.queueCapacity()) {
+            queue.addLast(request);
+            return Decision.QUEUE;
+        }
+        return Decision.REJECT;
+    }
+
+    /**
+     * Removes and returns the oldest queued request whose dimension has a free slot, taking that
+     * slot for it.
+     *
+     * @return The request to start, or null if no queued request can start right now
+     */
+    public synchronized T poll(Limits limits) {
+        if (queue.isEmpty() || active >= limits.maxActive()) {
+            return null;
+        }
+        Iterator<T> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            T request = iterator.next();
+            K dimension = dimensionOf.apply(request);
+            if (hasSlot(dimension, limits)) {
+                iterator.remove();
+                acquire(dimension);
+                return request;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a slot without checking the limits, for a strike that was admitted before a restart.
+     */
+    public synchronized void occupy(K dimension) {
+        acquire(dimension);
+    }
+
+    /**
+     * Frees the slot of a strike that has landed or been dropped.
+     */
+    public synchronized void release(K dimension) {
+        activePerDimension.computeIfPresent(dimension, (key, count) -> count > 1 ? count - 1 : null);
+        active = Math.max(0, active - 1);
+    }
+
+    public synchronized int getActive() {
+        return active;
+    }
+
+    public synchronized int getActive(K dimension) {
+        return activePerDimension.getOrDefault(dimension, 0);
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public synchronized void clear() {
+        activePerDimension.clear();
+        queue.clear();
+        active = 0;
+    }
+
+    private boolean hasSlot(K dimension, Limits limits) {
+        if (active >= limits.maxActive()) {
+            return false;
+        }
+        return limits.maxPerDimension() <= 0 || getActive(dimension) < limits.maxPerDimension();
+    }
+
+    private void acquire(K dimension) {
+        activePerDimension.merge(dimension, 1, Integer::sum);
+        active++;
+    }
+
+    public enum Decision {
+        START,
+        QUEUE,
+        REJECT
+    }
+
+    /**
+     * @param maxActive       Strikes allowed in flight on the whole server
+     * @param maxPerDimension Strikes allowed in flight per dimension, or 0 for no limit
+     * @param queueCapacity   Strikes allowed to wait for a slot
+     * @param policy          What to do with strikes that find no free slot
+     */
+    public record Limits(int maxActive, int maxPerDimension, int queueCapacity, StrikeOverflowPolicy policy) {
+        public static Limits fromConfig() {
+            ServerConfig config = ServerConfig.INSTANCE;
+            return new Limits(
+                    config.getMaxActiveStrikes(),
+                    config.getMaxStrikesPerDimension(),
+                    config.getStrikeQueueSize(),
+                    config.getStrikeOverflowPolicy());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.kingironman2011.orbital_railgun_enhanced.OrbitalRailgun;
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads strike profiles from {@code data/<namespace>/strike_profile/<name>.json} on every datapack
+ * reload and compiles them into {@link StrikeProfile}s. The profile strikes use is picked with the
+ * {@code strikeProfile} server config option; when it is blank or names a profile that is not
+ * loaded, strikes use the profile built from the server config.
+ */
+public final class StrikeProfiles implements SimpleSynchronousResourceReloadListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+    private static final String DIRECTORY = "strike_profile";
+    private static volatile Map<Identifier, StrikeProfile> profiles = Map.of();
+
+    @Override
+    public Identifier getFabricId() {
+        return Identifier.of(OrbitalRailgun.MOD_ID, DIRECTORY);
+    }
+
+    @Override
+    public void reload(ResourceManager manager) {
+        Map<Identifier, StrikeProfile> loaded = new HashMap<>();
+        for (Map.Entry<Identifier, Resource> entry
+                : manager.findResources(DIRECTORY, path -> path.getPath().endsWith(".json")).entrySet()) {
+            Identifier file = entry.getKey();
+            String path = file.getPath();
+            Identifier id = Identifier.of(
+                    file.getNamespace(), path.substring(DIRECTORY.length() + 1, path.length() - ".json".length()));
+            try (Reader reader = entry.getValue().getReader()) {
+                JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+                loaded.put(id, StrikeProfile.parse(id, json));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("[STRIKE] Could not load strike profile {}: {}", id, e.getMessage());
+            }
+        }
+
+        profiles = Map.copyOf(loaded);
+        LOGGER.info("Loaded {} strike profiles", loaded.size());
+    }
+
+    /**
+     * @return The loaded profile with the given id, or null if there is none
+     */
+    public static StrikeProfile get(Identifier id) {
+        return profiles.get(id);
+    }
+
+    /**
+     * @return The profile new strikes use
+     */
+    public static StrikeProfile active() {
+        String selected = ServerConfig.INSTANCE.getStrikeProfile();
+        if (selected != null && !selected.isBlank()) {
+            Identifier id = Identifier.tryParse(selected);
+            StrikeProfile profile = id != null ? profiles.get(id) : null;
+            if (profile != null) {
+                return profile;
+            }
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug("[STRIKE] Strike profile {} is not loaded, using the server config", selected);
+            }
+        }
+        return StrikeProfile.fromConfig();
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel keyed by tick. Each value sits in the slot of the tick it is due on,
+ * so advancing the wheel by one tick only looks at the values sharing that slot instead of at
+ * every scheduled value. Values due more than one revolution ahead simply stay in their slot until
+ * a later pass reaches their tick.
+ *
+ * <p>Not thread safe; each wheel is only used by the thread ticking its world.
+ *
+ * @param <T> The scheduled value type
+ */
+public final class TimingWheel<T> {
+    private final List<Entry<T>>[] slots;
+    private final int mask;
+    private final List<T> due = new ArrayList<>();
+    private long tick = -1;
+    private int size;
+
+    /**
+     * @param slotCount Number of slots; must be a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Schedules {@code value} for {@code dueTick}. Ticks that have already been processed are
+     * moved to the next tick the wheel will process.
+     */
+    public void schedule(T value, long dueTick) {
+        long at = Math.max(dueTick, tick + 1);
+        slots[(int) (at & mask)].add(new Entry<>(value, at));
+        size++;
+    }
+
+    /**
+     * Processes every tick up to and including {@code now} and hands each value that became due to
+     * {@code onDue}. Values scheduled from within {@code onDue} are never handed out in the same
+     * call.
+     */
+    public void advance(long now, Consumer<T> onDue) {
+        if (now <= tick) {
+            return;
+        }
+
+        long steps = Math.min(now - tick, slots.length);
+        for (long step = 1; step <= steps; step++) {
+            List<Entry<T>> slot = slots[(int) ((tick + step) & mask)];
+            for (int i = slot.size() - 1; i >= 0; i--) {
+                Entry<T> entry = slot.get(i);
+                if (entry.dueTick() <= now) {
+                    slot.set(i, slot.get(slot.size() - 1));
+                    slot.remove(slot.size() - 1);
+                    due.add(entry.value());
+                }
+            }
+        }
+        tick = now;
+        size -= due.size();
+
+        for (int i = 0; i < due.size(); i++) {
+            onDue.accept(due.get(i));
+        }
+        due.clear();
+    }
+
+    /**
+     * Drops every scheduled value and rewinds the wheel, so it can be reused from tick zero.
+     */
+    public void clear() {
+        for (List<Entry<T>> slot : slots) {
+            slot.clear();
+        }
+        tick = -1;
+        size = 0;
+    }
+
+    /**
+     * @return The number of values that are scheduled and not yet due
+     */
+    public int size() {
+        return size;
+    }
+
+    private record Entry<T>(T value, long dueTick) {
+    }
+}
@@ -3,142 +3,427 @@ package io.github.kingironman2011.orbital_railgun_enhanced.utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.github.kingironman2011.orbital_railgun_enhanced.OrbitalRailgun;
 import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
-import net.minecraft.block.Blocks;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterBounds;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterEngine;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterJob;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterMask;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterPlanner;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterTicket;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.PullKernel;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.SavedStrike;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.Strike;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeAdmission;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeDamage;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeProfile;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeProfiles;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeState;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.WorldStrikes;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.damage.DamageSource;
-import net.minecraft.entity.damage.DamageType;
-import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.predicate.entity.EntityPredicates;
 import net.minecraft.registry.RegistryKey;
-import net.minecraft.registry.RegistryKeys;
+import net.minecraft.resource.ResourceType;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.Pair;
+import net.minecraft.util.TypeFilter;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
-import org.joml.Vector2i;
 
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 public class OrbitalRailgunStrikeManager {
     private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
-    public static ConcurrentHashMap<Pair<BlockPos, List<Entity>>, Pair<Integer, RegistryKey<World>>>
-            activeStrikes =
-            new ConcurrentHashMap<Pair<BlockPos, List<Entity>>, Pair<Integer, RegistryKey<World>>>();
-    private static final RegistryKey<DamageType> STRIKE_DAMAGE =
-            RegistryKey.of(RegistryKeys.DAMAGE_TYPE, Identifier.of(OrbitalRailgun.MOD_ID, "strike"));
-    private static final int RADIUS = 24;
-    private static final int RADIUS_SQUARED = RADIUS * RADIUS;
-    private static final Boolean[][] mask = new Boolean[RADIUS * 2 + 1][RADIUS * 2 + 1];
+    private static final Map<RegistryKey<World>, WorldStrikes> worlds = new ConcurrentHashMap<>();
+    private static final AtomicInteger plannedStrikes = new AtomicInteger();
+    private static final TypeFilter<Entity, Entity> ANY_ENTITY = TypeFilter.instanceOf(Entity.class);
+    private static final StrikeAdmission<RegistryKey<World>, StrikeRequest> admission =
+            new StrikeAdmission<>(StrikeRequest::dimension);
+    private static BiConsumer<ServerWorld, Strike> launchListener = (world, strike) -> {
+    };
 
+    /**
+     * Sets the callback run whenever a strike actually launches, either straight away or after
+     * waiting in the admission queue.
+     */
+    public static void setLaunchListener(BiConsumer<ServerWorld, Strike> listener) {
+        launchListener = listener;
+    }
+
+    /**
+     * Asks the admission controller for a strike slot. If one is free the strike launches right
+     * away; otherwise it is queued or rejected depending on {@code strikeOverflowPolicy}. Must be
+     * called on the server thread.
+     *
+     * @param shooter  The player who fired the strike
+     * @param blockPos The impact position
+     * @return What happened to the strike
+     */
+    public static StrikeAdmission.Decision requestStrike(ServerPlayerEntity shooter, BlockPos blockPos) {
+        ServerWorld world = shooter.getServerWorld();
+        StrikeRequest request = new StrikeRequest(world.getRegistryKey(), blockPos.toImmutable(), shooter.getUuid());
+        StrikeAdmission.Decision decision = admission.admit(request, StrikeAdmission.Limits.fromConfig());
+        if (decision == StrikeAdmission.Decision.START) {
+            launch(world, request);
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[STRIKE] Admission for strike at {}: {} ({} active, {} queued)",
+                    blockPos,
+                    decision,
+                    admission.getActive(),
+                    admission.getQueued());
+        }
+        return decision;
+    }
+
+    /**
+     * @return The number of strikes waiting for a free slot
+     */
+    public static int getQueuedStrikes() {
+        return admission.getQueued();
+    }
+
+    /**
+     * Launches queued strikes for as long as slots are free.
+     */
+    private static void drainQueue(MinecraftServer server) {
+        StrikeAdmission.Limits limits = StrikeAdmission.Limits.fromConfig();
+        StrikeRequest request;
+        while ((request = admission.poll(limits)) != null) {
+            ServerWorld world = server.getWorld(request.dimension());
+            if (world == null) {
+                admission.release(request.dimension());
+                continue;
+            }
+            launch(world, request);
+
+            ServerPlayerEntity shooter = server.getPlayerManager().getPlayer(request.shooter());
+            if (shooter != null) {
+                shooter.sendMessage(Text.translatable("message.orbital_railgun_enhanced.strike.launched"), true);
+            }
+        }
+    }
+
+    private static void launch(ServerWorld world, StrikeRequest request) {
+        launchListener.accept(world, registerStrike(world, request.target()));
+    }
+
+    /**
+     * Registers a strike that will hit {@code blockPos} once its charge-up is over, and starts
+     * loading the chunks of its crater in the background.
+     *
+     * @param world    The world the strike was fired in
+     * @param blockPos The impact position
+     * @return The registered strike
+     */
+    private static Strike registerStrike(ServerWorld world, BlockPos blockPos) {
+        return registerStrike(world, blockPos, StrikeProfiles.active(), world.getTime());
+    }
+
+    private static Strike registerStrike(ServerWorld world, BlockPos blockPos, StrikeProfile profile, long firedTick) {
+        Strike strike = new Strike(
+                blockPos,
+                world.getRegistryKey(),
+                profile,
+                firedTick,
+                CraterTicket.acquire(world, blockPos, profile.mask()));
+        strikesOf(world).add(strike);
+        return strike;
+    }
+
+    private static WorldStrikes strikesOf(ServerWorld world) {
+        return worlds.computeIfAbsent(world.getRegistryKey(), key -> new WorldStrikes(StrikeState.get(world)));
+    }
+
+    /**
+     * Registers the strikes saved in {@code world} again when it loads. Their fired tick is kept,
+     * so each one lands after the delay it had left; strikes that were due while the server was
+     * down land on the first tick. Restored strikes take their admission slots regardless of the
+     * limits, since they were admitted before.
+     */
+    public static void restore(ServerWorld world) {
+        List<SavedStrike> saved = StrikeState.get(world).takeRestored();
+        if (saved.isEmpty()) {
+            return;
+        }
+
+        for (SavedStrike strike : saved) {
+            admission.occupy(world.getRegistryKey());
+            Identifier profileId = Identifier.tryParse(strike.profile());
+            StrikeProfile profile = profileId != null ? StrikeProfiles.get(profileId) : null;
+            registerStrike(
+                    world,
+                    BlockPos.fromLong(strike.target()),
+                    profile != null ? profile : StrikeProfile.fromConfig(),
+                    strike.firedTick());
+        }
+        LOGGER.info("[STRIKE] Restored {} pending strikes in {}", saved.size(), world.getRegistryKey().getValue());
+    }
+
+    /**
+     * @return The strikes that have been fired in {@code world} and have not landed yet
+     */
+    public static Collection<Strike> getActiveStrikes(ServerWorld world) {
+        WorldStrikes strikes = worlds.get(world.getRegistryKey());
+        return strikes != null ? strikes.getActive() : Collections.emptyList();
+    }
+
+    /**
+     * Launches queued strikes once other strikes have freed their slots. Runs at the end of the
+     * server tick, after every world has ticked.
+     */
     public static void tick(MinecraftServer server) {
-        activeStrikes.forEach(
-                ((keyPair1, keyPair2) -> {
-                    float age = server.getTicks() - keyPair2.getLeft();
-                    BlockPos blockPos = keyPair1.getLeft();
-                    List<Entity> entities = keyPair1.getRight();
-                    RegistryKey<World> dimension = keyPair2.getRight();
-
-                    if (age >= 700) {
-                        activeStrikes.remove(keyPair1);
-
-                        ServerWorld world = server.getWorld(dimension);
-
-                        if (ServerConfig.INSTANCE.isDebugMode()) {
-                            LOGGER.debug(
-                                    "[STRIKE] Strike at {} reached impact age (700 ticks), executing damage",
-                                    blockPos);
-                        }
+        drainQueue(server);
+    }
 
-                        float strikeDamage = ServerConfig.INSTANCE.getStrikeDamage();
-
-                        entities.forEach(
-                                entity -> {
-                                    if (entity.getWorld().getRegistryKey() == dimension
-                                            && entity.getPos().subtract(blockPos.toCenterPos()).lengthSquared()
-                                            <= RADIUS_SQUARED) {
-                                        entity.damage(
-                                                new DamageSource(
-                                                        world
-                                                                .getRegistryManager()
-                                                                .get(RegistryKeys.DAMAGE_TYPE)
-                                                                .getEntry(STRIKE_DAMAGE)
-                                                                .get()),
-                                                strikeDamage);
-                                        if (ServerConfig.INSTANCE.isDebugMode()) {
-                                            LOGGER.debug(
-                                                    "[STRIKE] Damaged entity {} for {} damage",
-                                                    entity.getName().getString(),
-                                                    strikeDamage);
-                                        }
-                                    }
-                                });
-
-                        if (ServerConfig.INSTANCE.isDebugMode()) {
-                            LOGGER.debug("[STRIKE] Exploding blocks at {}", blockPos);
-                        }
-                        explode(blockPos, world);
+    /**
+     * Moves the world's strikes whose phase ends this tick on to their next phase through the
+     * timing wheel, applies the pull of every strike that is currently pulling, and carries on
+     * clearing craters. Strikes that are still charging cost nothing, and only this world's own
+     * strikes are looked at.
+     */
+    public static void tickWorld(ServerWorld world) {
+        WorldStrikes strikes = worlds.get(world.getRegistryKey());
+        if (strikes == null || strikes.isIdle()) {
+            return;
+        }
 
-                        if (ServerConfig.INSTANCE.isDebugMode()) {
-                            LOGGER.info("[STRIKE] Strike at {} completed", blockPos);
-                        }
-                    } else if (age >= 400) {
-                        if (ServerConfig.INSTANCE.isDebugMode() && age == 400) {
-                            LOGGER.debug("[STRIKE] Started pull effect for strike at {}", blockPos);
-                        }
+        long now = world.getTime();
+        strikes.advance(now, strike -> onPhaseEnd(world, strikes, strike));
+        List<Strike> landing = strikes.getLanding();
+        if (!landing.isEmpty()) {
+            impact(world, strikes, landing);
+            landing.clear();
+        }
 
-                        entities.forEach(
-                                entity -> {
-                                    if (entity instanceof PlayerEntity player && player.isSpectator()) {
-                                        return;
-                                    }
-                                    if (entity.getWorld().getRegistryKey() == dimension) {
-                                        Vec3d dir = blockPos.toCenterPos().subtract(entity.getPos());
-                                        double mag =
-                                                Math.min(1. / Math.abs(dir.length() - 20.) * 4. * (age - 400.) / 300., 5.);
-                                        dir = dir.normalize();
-
-                                        entity.addVelocity(dir.multiply(mag));
-                                        entity.velocityModified = true;
-                                    }
-                                });
-                    }
-                }));
-    }
-
-    private static void explode(BlockPos origin, World world) {
-        int blocksDestroyed = 0;
-        for (int y = world.getBottomY(); y <= world.getHeight(); y++) {
-            for (int x = -RADIUS; x <= RADIUS; x++) {
-                for (int z = -RADIUS; z <= RADIUS; z++) {
-                    if (mask[x + RADIUS][z + RADIUS]) {
-                        world.setBlockState(
-                                new BlockPos(origin.getX() + x, y, origin.getZ() + z),
-                                Blocks.AIR.getDefaultState());
-                        blocksDestroyed++;
+        for (Strike strike : strikes.getPulling()) {
+            pull(world, strikes, strike, strike.getAge(now));
+        }
+
+        strikes.getCraters().tick();
+    }
+
+    private static void onPhaseEnd(ServerWorld world, WorldStrikes strikes, Strike strike) {
+        if (strike.getPhase() == Strike.Phase.CHARGING) {
+            strikes.startPull(strike);
+            if (ServerConfig.INSTANCE.isAsyncCraterPlanning()) {
+                strike.setPlan(CraterPlanner.plan(
+                        world, strike.getTarget(), strike.getProfile().mask(), CraterBounds.fromConfig()));
+                plannedStrikes.incrementAndGet();
+            }
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug("[STRIKE] Started pull effect for strike {} at {}", strike.getId(), strike.getTarget());
+            }
+            return;
+        }
+
+        strikes.remove(strike);
+        admission.release(strike.getDimension());
+        if (strike.getPlan() != null) {
+            plannedStrikes.decrementAndGet();
+        }
+        strikes.getLanding().add(strike);
+    }
+
+    /**
+     * Called for every block change in a loaded chunk, so that crater plans made from an older
+     * snapshot of that block are not trusted. Does nothing while no strike has a plan.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos) {
+        if (plannedStrikes.get() == 0) {
+            return;
+        }
+        WorldStrikes strikes = worlds.get(world.getRegistryKey());
+        if (strikes != null) {
+            strikes.invalidatePlans(pos);
+        }
+    }
+
+    /**
+     * Lands every strike whose impact is due this tick. Damage is dealt per strike, but strikes
+     * whose craters overlap are cleared as one union crater, so shared blocks are only cleared once.
+     */
+    private static void impact(ServerWorld world, WorldStrikes strikes, List<Strike> landing) {
+        for (Strike strike : landing) {
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug(
+                        "[STRIKE] Strike at {} reached impact age ({} ticks), executing damage",
+                        strike.getTarget(),
+                        strike.getProfile().impactTicks());
+            }
+            StrikeDamage.apply(world, strike);
+        }
+
+        for (List<Strike> group : groupOverlapping(landing)) {
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug("[STRIKE] Exploding blocks at {} ({} craters)", group.get(0).getTarget(), group.size());
+            }
+            explode(world, strikes, group.get(0).getProfile().mask(), group);
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            for (Strike strike : landing) {
+                LOGGER.info("[STRIKE] Strike at {} completed", strike.getTarget());
+            }
+        }
+    }
+
+    /**
+     * Splits strikes landing together into groups whose crater footprints overlap, directly or
+     * through other strikes of the same group. Only strikes with the same crater mask are grouped.
+     */
+    private static Collection<List<Strike>> groupOverlapping(List<Strike> landing) {
+        if (landing.size() == 1) {
+            return List.of(landing);
+        }
+
+        int count = landing.size();
+        int[] group = new int[count];
+        for (int i = 0; i < count; i++) {
+            group[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            BlockPos a = landing.get(i).getTarget();
+            CraterMask mask = landing.get(i).getProfile().mask();
+            int radius = mask.getRadius();
+            for (int j = i + 1; j < count; j++) {
+                BlockPos b = landing.get(j).getTarget();
+                if (group[i] != group[j]
+                        && landing.get(j).getProfile().mask() == mask
+                        && Math.abs(a.getX() - b.getX()) <= radius * 2
+                        && Math.abs(a.getZ() - b.getZ()) <= radius * 2) {
+                    int from = group[j];
+                    for (int k = 0; k < count; k++) {
+                        if (group[k] == from) {
+                            group[k] = group[i];
+                        }
                     }
                 }
             }
         }
 
+        Map<Integer, List<Strike>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            groups.computeIfAbsent(group[i], key -> new ArrayList<>()).add(landing.get(i));
+        }
+        return groups.values();
+    }
+
+    /**
+     * Pulls every non-spectator entity within the strike's pull radius towards its center. The
+     * entity list and force kernel belong to the world and are reused across strikes and ticks, so
+     * this allocates nothing per entity.
+     */
+    private static void pull(ServerWorld world, WorldStrikes strikes, Strike strike, int age) {
+        PullKernel pullKernel = strikes.getPullKernel();
+        List<Entity> pullTargets = strikes.getPullTargets();
+        Vec3d center = strike.getCenter();
+        StrikeProfile profile = strike.getProfile();
+        pullKernel.begin(
+                center.x,
+                center.y,
+                center.z,
+                profile.pullRadius(),
+                age - profile.pullStartTicks(),
+                profile.pullTicks(),
+                profile.pullStrength());
+        world.collectEntitiesByType(ANY_ENTITY, strike.getPullBox(), EntityPredicates.EXCEPT_SPECTATOR, pullTargets);
+
+        for (int i = 0; i < pullTargets.size(); i++) {
+            Entity entity = pullTargets.get(i);
+            if (pullKernel.compute(entity.getX(), entity.getY(), entity.getZ())) {
+                entity.addVelocity(pullKernel.getVelocityX(), pullKernel.getVelocityY(), pullKernel.getVelocityZ());
+                entity.velocityModified = true;
+            }
+        }
+        pullTargets.clear();
+    }
+
+    private static void explode(ServerWorld world, WorldStrikes strikes, CraterMask mask, List<Strike> group) {
+        List<BlockPos> origins = new ArrayList<>(group.size());
+        for (Strike strike : group) {
+            origins.add(strike.getTarget());
+        }
+
+        CraterJob job = new CraterJob(world, origins, mask, CraterBounds.fromConfig());
+        for (int i = 0; i < group.size(); i++) {
+            Strike strike = group.get(i);
+            if (strike.getPlan() != null) {
+                job.usePlan(i, strike.getPlan());
+            }
+            if (strike.getTicket() != null) {
+                job.releaseWhenDone(strike.getTicket());
+            }
+        }
+        if (ServerConfig.INSTANCE.isTimeSlicedCraters() || !job.isChunksLoaded()) {
+            strikes.getCraters().submit(job);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int blocksDestroyed = CraterEngine.clear(job);
+
         if (ServerConfig.INSTANCE.isDebugMode()) {
-            LOGGER.debug("[STRIKE] Destroyed {} blocks in explosion", blocksDestroyed);
+            LOGGER.debug(
+                    "[STRIKE] Destroyed {} blocks in explosion ({} ms)",
+                    blocksDestroyed,
+                    (System.nanoTime() - start) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Runs every crater that is still being cleared to completion, so a stop never leaves one half
+     * done.
+     */
+    public static void finishCraters() {
+        for (WorldStrikes strikes : worlds.values()) {
+            strikes.getCraters().finishAll();
         }
     }
 
+    /**
+     * Forgets every pending strike. Called when the server stops, since the worlds go away with
+     * it; the strikes stay in each world's saved data and are restored when it loads again.
+     */
+    public static void clear() {
+        for (WorldStrikes strikes : worlds.values()) {
+            strikes.clear();
+        }
+        worlds.clear();
+        admission.clear();
+        plannedStrikes.set(0);
+    }
+
     public static void initialize() {
         LOGGER.info("Initializing strike manager...");
-        for (int x = -RADIUS; x <= RADIUS; x++) {
-            for (int z = -RADIUS; z <= RADIUS; z++) {
-                mask[x + RADIUS][z + RADIUS] = Vector2i.lengthSquared(x, z) <= RADIUS_SQUARED;
-            }
-        }
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new StrikeProfiles());
+        CraterMask mask = StrikeProfile.fromConfig().mask();
         if (ServerConfig.INSTANCE.isDebugMode()) {
-            LOGGER.debug("[STRIKE] Generated explosion mask with radius {}", RADIUS);
+            LOGGER.debug(
+                    "[STRIKE] Prepared {} explosion mask with radius {}",
+                    mask.getShape(),
+                    mask.getRadius());
         }
     }
+
+    /**
+     * A strike that has been admitted or is waiting for a slot, but has not been registered yet.
+     */
+    private record StrikeRequest(RegistryKey<World> dimension, BlockPos target, UUID shooter) {
+    }
 }
@@ -0,0 +1,131 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.listener;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-player sound zone membership store.
+ */
+class PlayerZoneStoreTest {
+
+    @Test
+    @DisplayName("Updates should report entering, staying and leaving")
+    void testUpdateFlags() {
+        PlayerZoneStore store = new PlayerZoneStore();
+        int player = store.join(UUID.randomUUID());
+
+        int entered = store.update(player, 3, true);
+        assertTrue(AreaFlags.hasEntered(entered));
+        assertTrue(AreaFlags.isInside(entered));
+
+        int stayed = store.update(player, 3, true);
+        assertTrue(AreaFlags.isInside(stayed));
+        assertFalse(AreaFlags.hasStateChanged(stayed));
+
+        int left = store.update(player, 3, false);
+        assertTrue(AreaFlags.hasLeft(left));
+        assertFalse(AreaFlags.isInside(left));
+
+        assertEquals(0, store.update(player, 3, false));
+    }
+
+    @Test
+    @DisplayName("A freed player slot should be reused with no state left in it")
+    void testSlotReuse() {
+        PlayerZoneStore store = new PlayerZoneStore();
+        UUID first = UUID.randomUUID();
+        int slot = store.join(first);
+        assertEquals(slot, store.join(first));
+        store.update(slot, 5, true);
+
+        store.leave(first);
+        assertEquals(-1, store.slotOf(first));
+
+        int reused = store.join(UUID.randomUUID());
+        assertEquals(slot, reused);
+        assertFalse(store.isInside(reused, 5));
+    }
+
+    @Test
+    @DisplayName("Growing the zone capacity should keep every player's membership")
+    void testZoneGrowth() {
+        PlayerZoneStore store = new PlayerZoneStore();
+        int a = store.join(UUID.randomUUID());
+        int b = store.join(UUID.randomUUID());
+        store.update(a, 1, true);
+        store.update(b, 63, true);
+
+        store.update(a, 200, true);
+
+        assertTrue(store.isInside(a, 1));
+        assertTrue(store.isInside(a, 200));
+        assertTrue(store.isInside(b, 63));
+        assertFalse(store.isInside(b, 200));
+        assertFalse(store.isInside(b, 1000));
+    }
+
+    @Test
+    @DisplayName("nextInside should walk the zones a player is inside in order")
+    void testNextInside() {
+        PlayerZoneStore store = new PlayerZoneStore();
+        int player = store.join(UUID.randomUUID());
+        store.update(player, 2, true);
+        store.update(player, 64, true);
+        store.update(player, 130, true);
+
+        assertEquals(2, store.nextInside(player, 0));
+        assertEquals(64, store.nextInside(player, 3));
+        assertEquals(130, store.nextInside(player, 65));
+        assertEquals(-1, store.nextInside(player, 131));
+    }
+
+    @Test
+    @DisplayName("Clearing a zone should take every player out of it")
+    void testClearZone() {
+        PlayerZoneStore store = new PlayerZoneStore();
+        int a = store.join(UUID.randomUUID());
+        int b = store.join(UUID.randomUUID());
+        store.update(a, 7, true);
+        store.update(b, 7, true);
+        store.update(b, 8, true);
+
+        store.clearZone(7);
+
+        assertFalse(store.isInside(a, 7));
+        assertFalse(store.isInside(b, 7));
+        assertTrue(store.isInside(b, 8));
+    }
+
+    @Test
+    @DisplayName("Checking every joined player against a zone should not allocate")
+    void testBroadcastDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        PlayerZoneStore store = new PlayerZoneStore();
+        UUID[] players = new UUID[10000];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            store.join(players[i]);
+        }
+        broadcast(store, players, 0);
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        broadcast(store, players, 1);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated < players.length, "Broadcast allocated " + allocated + " bytes");
+    }
+
+    private static void broadcast(PlayerZoneStore store, UUID[] players, int zone) {
+        for (int i = 0; i < players.length; i++) {
+            store.update(store.join(players[i]), zone, i % 2 == 0);
+        }
+    }
+}
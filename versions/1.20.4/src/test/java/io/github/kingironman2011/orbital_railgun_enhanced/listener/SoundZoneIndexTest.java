@@ -0,0 +1,105 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.listener;
+
+import net.minecraft.world.World;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the grid index of active sound zones.
+ */
+class SoundZoneIndexTest {
+
+    @Test
+    @DisplayName("Every zone containing a point should be listed in that point's cell")
+    void testNearCoversContainingZones() {
+        SoundZoneIndex index = new SoundZoneIndex();
+        SoundZone a = index.add(World.OVERWORLD, 0.5, 0.5, 500, 0);
+        SoundZone b = index.add(World.OVERWORLD, 900.5, -300.5, 500, 0);
+        SoundZone far = index.add(World.OVERWORLD, 10000.5, 10000.5, 500, 0);
+
+        for (int x = -1200; x <= 1200; x += 37) {
+            for (int z = -1200; z <= 1200; z += 37) {
+                List<SoundZone> near = index.near(x, z);
+                for (SoundZone zone : List.of(a, b, far)) {
+                    if (zone.contains(x, z)) {
+                        assertTrue(near.contains(zone), "Zone missing from cell of " + x + ", " + z);
+                    }
+                }
+                assertFalse(near.contains(far), "Distant zone listed near " + x + ", " + z);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Zones should be found by their exact center")
+    void testFind() {
+        SoundZoneIndex index = new SoundZoneIndex();
+        SoundZone zone = index.add(World.OVERWORLD, 100.5, -40.5, 200, 0);
+
+        assertSame(zone, index.find(World.OVERWORLD, 100.5, -40.5));
+        assertNull(index.find(World.OVERWORLD, 101.5, -40.5));
+    }
+
+    @Test
+    @DisplayName("Zones should only cover the dimension they were fired in")
+    void testDimensions() {
+        SoundZoneIndex index = new SoundZoneIndex();
+        SoundZone overworld = index.add(World.OVERWORLD, 100.5, -40.5, 200, 0);
+        SoundZone nether = index.add(World.NETHER, 100.5, -40.5, 200, 0);
+
+        assertNotSame(overworld, nether);
+        assertSame(nether, index.find(World.NETHER, 100.5, -40.5));
+        assertTrue(overworld.contains(World.OVERWORLD, 120, -30));
+        assertFalse(overworld.contains(World.NETHER, 120, -30));
+    }
+
+    @Test
+    @DisplayName("Every point a zone contains should be in a chunk the zone reaches")
+    void testReachesChunk() {
+        SoundZone zone = new SoundZoneIndex().add(World.OVERWORLD, -20.5, 33.5, 150, 0);
+
+        for (int x = -400; x <= 400; x += 7) {
+            for (int z = -400; z <= 400; z += 7) {
+                if (zone.contains(x, z)) {
+                    assertTrue(zone.reachesChunk(x >> 4, z >> 4), "Chunk of " + x + ", " + z + " not reached");
+                }
+            }
+        }
+        assertFalse(zone.reachesChunk(20, 0));
+        assertFalse(zone.reachesChunk(0, -20));
+    }
+
+    @Test
+    @DisplayName("Cells should not grow with the number of zones elsewhere")
+    void testManyZones() {
+        SoundZoneIndex index = new SoundZoneIndex();
+        SoundZone local = index.add(World.OVERWORLD, 0.5, 0.5, 100, 0);
+        for (int i = 1; i <= 25; i++) {
+            index.add(World.OVERWORLD, i * 5000.5, 0.5, 100, 0);
+        }
+
+        assertEquals(26, index.size());
+        assertEquals(List.of(local), index.near(10, 10));
+    }
+
+    @Test
+    @DisplayName("Removed and expired zones should leave every cell")
+    void testRemoveAndExpire() {
+        SoundZoneIndex index = new SoundZoneIndex();
+        SoundZone old = index.add(World.OVERWORLD, 0.5, 0.5, 300, 1000);
+        SoundZone fresh = index.add(World.OVERWORLD, 10.5, 10.5, 300, 5000);
+
+        assertEquals(List.of(old), index.removeExpired(6000, 4500));
+        assertFalse(index.near(0, 0).contains(old));
+        assertTrue(index.near(0, 0).contains(fresh));
+
+        index.remove(fresh);
+        assertTrue(index.isEmpty());
+        assertTrue(index.near(0, 0).isEmpty());
+        assertTrue(index.near(-290, 290).isEmpty());
+    }
+}
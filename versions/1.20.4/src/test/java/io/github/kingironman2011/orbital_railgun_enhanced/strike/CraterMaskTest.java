@@ -0,0 +1,90 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the run-length crater masks and their cache.
+ */
+class CraterMaskTest {
+
+    @ParameterizedTest
+    @DisplayName("Disk spans should cover exactly the cells inside the radius")
+    @ValueSource(ints = {1, 5, 12, 24, 48})
+    void testDiskMatchesBruteForce(int radius) {
+        CraterMask.Layer layer = CraterMask.get(CraterShape.DISK, radius).layerAt(0);
+
+        int expected = 0;
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                boolean inside = x * x + z * z <= radius * radius;
+                if (inside) {
+                    expected++;
+                }
+                assertEquals(inside, layer.contains(x, z),
+                        String.format("Cell (%d, %d) membership mismatch for radius %d", x, z, radius));
+            }
+        }
+        assertEquals(expected, layer.cells(), "Span cell count should match brute force count");
+    }
+
+    @Test
+    @DisplayName("Default radius should cover the same footprint as the old boolean mask")
+    void testDefaultRadiusFootprint() {
+        CraterMask mask = CraterMask.get(CraterShape.DISK, 24);
+        assertEquals(576, mask.getRadiusSquared());
+        assertEquals(24, mask.layerAt(0).halfWidth(0));
+        assertEquals(0, mask.layerAt(0).halfWidth(24));
+        assertTrue(mask.layerAt(0).cells() > 1750 && mask.layerAt(0).cells() < 1900);
+    }
+
+    @Test
+    @DisplayName("Disk should reach the bottom of the world")
+    void testDiskIsUnbounded() {
+        CraterMask mask = CraterMask.get(CraterShape.DISK, 24);
+        assertSame(mask.layerAt(0), mask.layerAt(-1000), "Disk should reuse the same layer at every depth");
+        assertEquals(Integer.MAX_VALUE, mask.getMaxDepth());
+    }
+
+    @Test
+    @DisplayName("Hemisphere should narrow with depth and stop one radius down")
+    void testHemisphereNarrows() {
+        CraterMask mask = CraterMask.get(CraterShape.HEMISPHERE, 10);
+        assertEquals(10, mask.layerAt(5).radius(), "Layers above impact should use the full radius");
+        assertEquals(8, mask.layerAt(-6).radius(), "sqrt(100 - 36) should be 8");
+        assertEquals(0, mask.layerAt(-10).radius(), "Bottom of the bowl should be a single cell");
+        assertNull(mask.layerAt(-11), "Nothing should be cleared below the bowl");
+    }
+
+    @Test
+    @DisplayName("Cone should narrow linearly with depth")
+    void testConeNarrows() {
+        CraterMask mask = CraterMask.get(CraterShape.CONE, 10);
+        for (int depth = 0; depth <= 10; depth++) {
+            assertEquals(10 - depth, mask.layerAt(-depth).radius(), "Cone radius at depth " + depth);
+        }
+        assertNull(mask.layerAt(-11));
+    }
+
+    @Test
+    @DisplayName("Masks should be cached per shape and radius")
+    void testCacheReusesMasks() {
+        CraterMask first = CraterMask.get(CraterShape.CONE, 30);
+        assertSame(first, CraterMask.get(CraterShape.CONE, 30), "Same key should return cached mask");
+        assertNotSame(first, CraterMask.get(CraterShape.HEMISPHERE, 30), "Shape should be part of the key");
+        assertNotSame(first, CraterMask.get(CraterShape.CONE, 31), "Radius should be part of the key");
+    }
+
+    @Test
+    @DisplayName("Cache should evict least recently used masks")
+    void testCacheIsBounded() {
+        for (int radius = 1; radius <= 64; radius++) {
+            CraterMask.get(CraterShape.DISK, radius);
+        }
+        assertTrue(CraterMask.cachedMasks() <= 16, "Cache should not grow past its capacity");
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link DamageFalloff}.
+ */
+class DamageFalloffTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    @DisplayName("NONE keeps full damage across the radius")
+    void testNone() {
+        assertEquals(1.0, DamageFalloff.NONE.scale(0, 100), EPSILON);
+        assertEquals(1.0, DamageFalloff.NONE.scale(100, 100), EPSILON);
+    }
+
+    @Test
+    @DisplayName("LINEAR drops in proportion to distance")
+    void testLinear() {
+        assertEquals(1.0, DamageFalloff.LINEAR.scale(0, 100), EPSILON);
+        assertEquals(0.5, DamageFalloff.LINEAR.scale(25, 100), EPSILON);
+        assertEquals(0.0, DamageFalloff.LINEAR.scale(100, 100), EPSILON);
+    }
+
+    @Test
+    @DisplayName("QUADRATIC drops with the square of the distance")
+    void testQuadratic() {
+        assertEquals(1.0, DamageFalloff.QUADRATIC.scale(0, 100), EPSILON);
+        assertEquals(0.75, DamageFalloff.QUADRATIC.scale(25, 100), EPSILON);
+        assertEquals(0.0, DamageFalloff.QUADRATIC.scale(100, 100), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Scale is clamped outside the radius and for a zero radius")
+    void testClamped() {
+        for (DamageFalloff falloff : DamageFalloff.values()) {
+            double outside = falloff.scale(400, 100);
+            assertEquals(falloff == DamageFalloff.NONE ? 1.0 : 0.0, outside, EPSILON);
+            assertEquals(1.0, falloff.scale(4, 0), EPSILON);
+        }
+    }
+}
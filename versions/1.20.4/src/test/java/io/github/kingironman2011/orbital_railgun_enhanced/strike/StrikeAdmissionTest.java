@@ -0,0 +1,117 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for strike admission limits and the overflow queue.
+ */
+class StrikeAdmissionTest {
+    private record Request(String dimension, int id) {
+    }
+
+    private static StrikeAdmission<String, Request> admission() {
+        return new StrikeAdmission<>(Request::dimension);
+    }
+
+    @Test
+    @DisplayName("Strikes should start while server slots are free")
+    void testServerLimit() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(2, 0, 0, StrikeOverflowPolicy.REJECT);
+
+        assertEquals(StrikeAdmission.Decision.START, admission.admit(new Request("overworld", 1), limits));
+        assertEquals(StrikeAdmission.Decision.START, admission.admit(new Request("nether", 2), limits));
+        assertEquals(StrikeAdmission.Decision.REJECT, admission.admit(new Request("end", 3), limits));
+        assertEquals(2, admission.getActive());
+    }
+
+    @Test
+    @DisplayName("Per-dimension limit should only block its own dimension")
+    void testDimensionLimit() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(10, 1, 0, StrikeOverflowPolicy.REJECT);
+
+        assertEquals(StrikeAdmission.Decision.START, admission.admit(new Request("overworld", 1), limits));
+        assertEquals(StrikeAdmission.Decision.REJECT, admission.admit(new Request("overworld", 2), limits));
+        assertEquals(StrikeAdmission.Decision.START, admission.admit(new Request("nether", 3), limits));
+        assertEquals(1, admission.getActive("overworld"));
+        assertEquals(1, admission.getActive("nether"));
+    }
+
+    @Test
+    @DisplayName("Queue should be bounded and reject once full")
+    void testQueueCapacity() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(1, 0, 2, StrikeOverflowPolicy.QUEUE);
+
+        assertEquals(StrikeAdmission.Decision.START, admission.admit(new Request("overworld", 1), limits));
+        assertEquals(StrikeAdmission.Decision.QUEUE, admission.admit(new Request("overworld", 2), limits));
+        assertEquals(StrikeAdmission.Decision.QUEUE, admission.admit(new Request("overworld", 3), limits));
+        assertEquals(StrikeAdmission.Decision.REJECT, admission.admit(new Request("overworld", 4), limits));
+        assertEquals(2, admission.getQueued());
+    }
+
+    @Test
+    @DisplayName("Queued strikes should start oldest first as slots are released")
+    void testQueueDrainsInOrder() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(1, 0, 4, StrikeOverflowPolicy.QUEUE);
+        admission.admit(new Request("overworld", 1), limits);
+        admission.admit(new Request("overworld", 2), limits);
+        admission.admit(new Request("overworld", 3), limits);
+
+        assertNull(admission.poll(limits), "Nothing should start while the only slot is taken");
+        admission.release("overworld");
+        assertEquals(2, admission.poll(limits).id());
+        assertNull(admission.poll(limits));
+        admission.release("overworld");
+        assertEquals(3, admission.poll(limits).id());
+        assertEquals(0, admission.getQueued());
+    }
+
+    @Test
+    @DisplayName("A full dimension should not hold back queued strikes for other dimensions")
+    void testQueueSkipsBlockedDimension() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(3, 1, 4, StrikeOverflowPolicy.QUEUE);
+        admission.admit(new Request("overworld", 1), limits);
+        admission.admit(new Request("overworld", 2), limits);
+        admission.admit(new Request("nether", 3), limits);
+        admission.admit(new Request("nether", 4), limits);
+
+        assertEquals(2, admission.getQueued());
+        assertNull(admission.poll(limits), "Both dimensions are at their limit");
+        admission.release("nether");
+        assertEquals(4, admission.poll(limits).id(), "Nether strike should skip the blocked overworld one");
+        assertEquals(1, admission.getQueued());
+    }
+
+    @Test
+    @DisplayName("Restored strikes should take slots even past the limits")
+    void testOccupyIgnoresLimits() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(1, 0, 0, StrikeOverflowPolicy.REJECT);
+        admission.occupy("overworld");
+        admission.occupy("overworld");
+
+        assertEquals(2, admission.getActive("overworld"));
+        assertEquals(StrikeAdmission.Decision.REJECT, admission.admit(new Request("nether", 1), limits));
+        admission.release("overworld");
+        admission.release("overworld");
+        assertEquals(StrikeAdmission.Decision.START, admission.admit(new Request("nether", 2), limits));
+    }
+
+    @Test
+    @DisplayName("Reject policy should never queue")
+    void testRejectPolicy() {
+        StrikeAdmission<String, Request> admission = admission();
+        StrikeAdmission.Limits limits = new StrikeAdmission.Limits(1, 0, 8, StrikeOverflowPolicy.REJECT);
+        admission.admit(new Request("overworld", 1), limits);
+
+        assertEquals(StrikeAdmission.Decision.REJECT, admission.admit(new Request("overworld", 2), limits));
+        assertEquals(0, admission.getQueued());
+    }
+}
@@ -10,27 +10,34 @@ import io.github.kingironman2011.orbital_railgun_enhanced.registry.SoundsRegistr
 import io.github.kingironman2011.orbital_railgun_enhanced.registry.CommandRegistry;
 import io.github.kingironman2011.orbital_railgun_enhanced.logger.SoundLogger;
 import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import io.github.kingironman2011.orbital_railgun_enhanced.listener.AreaFlags;
 import io.github.kingironman2011.orbital_railgun_enhanced.listener.PlayerAreaListener;
+import io.github.kingironman2011.orbital_railgun_enhanced.listener.SoundZone;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.Strike;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeAdmission;
 import io.github.kingironman2011.orbital_railgun_enhanced.network.PlaySoundPayload;
 import io.github.kingironman2011.orbital_railgun_enhanced.network.ShootPayload;
 import io.github.kingironman2011.orbital_railgun_enhanced.network.ClientSyncPayload;
 import io.github.kingironman2011.orbital_railgun_enhanced.network.StopAreaSoundPayload;
 import io.github.kingironman2011.orbital_railgun_enhanced.network.StopAnimationPayload;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.registry.Registries;
-import net.minecraft.entity.Entity;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundEvent;
+import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.Pair;
-import net.minecraft.util.math.Box;
 
-import java.util.List;
+import java.util.Collection;
 
 public class OrbitalRailgun implements ModInitializer {
     public static final String MOD_ID = "orbital_railgun_enhanced";
@@ -66,6 +73,7 @@ public class OrbitalRailgun implements ModInitializer {
         LOGGER.info("Items registered");
 
         OrbitalRailgunStrikeManager.initialize();
+        OrbitalRailgunStrikeManager.setLaunchListener(OrbitalRailgun::onStrikeLaunched);
         LOGGER.info("Strike manager initialized");
 
         // Register C2S (Client-to-Server) payload types
@@ -80,13 +88,21 @@ public class OrbitalRailgun implements ModInitializer {
         LOGGER.info("Server-to-client network payloads registered");
 
         PlayerAreaListener.setAreaChangeCallback(
-                event ->
-                        handleAreaStateChange(event.player(), event.result(), event.laserX(), event.laserZ()));
+                event -> handleAreaStateChange(event.player(), event.flags(), event.zone()));
 
         if (ServerConfig.INSTANCE.isDebugMode()) {
             LOGGER.info("Registered player area change callback");
         }
 
+        ServerPlayConnectionEvents.JOIN.register(
+                (handler, sender, server) -> PlayerAreaListener.onPlayerJoin(handler.getPlayer()));
+
+        // Chunk crossings do not cover moving to the same chunk of another world
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register(
+                (player, origin, destination) -> PlayerAreaListener.onPlayerMoved(player));
+        ServerPlayerEvents.AFTER_RESPAWN.register(
+                (oldPlayer, newPlayer, alive) -> PlayerAreaListener.onPlayerRespawn(newPlayer));
+
         ServerPlayConnectionEvents.DISCONNECT.register(
                 (handler, server) -> {
                     PlayerAreaListener.clearPlayerState(handler.getPlayer().getUuid());
@@ -118,8 +134,6 @@ public class OrbitalRailgun implements ModInitializer {
 
                                 double range = ServerConfig.INSTANCE.getSoundRange();
                                 double rangeSquared = range * range;
-                                double laserX = blockPos.getX() + 0.5;
-                                double laserZ = blockPos.getZ() + 0.5;
 
                                 if (ServerConfig.INSTANCE.isDebugMode()) {
                                     LOGGER.info(
@@ -133,10 +147,11 @@ public class OrbitalRailgun implements ModInitializer {
                                             fireTimestamp);
                                 }
 
-                                // Check all players and track state changes
-                                context.player().server
-                                        .getPlayerManager()
-                                        .getPlayerList()
+                                // A one-off sound around the position the client sent, which is the shooter's;
+                                // only the strike target gets a sound zone, once the strike launches
+                                ServerWorld world = context.player().getServerWorld();
+                                world
+                                        .getPlayers()
                                         .forEach(
                                                 nearbyPlayer -> {
                                                     double distanceSquared =
@@ -145,39 +160,21 @@ public class OrbitalRailgun implements ModInitializer {
                                                                     blockPos.getY() + 0.5,
                                                                     blockPos.getZ() + 0.5);
 
-                                                    PlayerAreaListener.AreaCheckResult result =
-                                                            PlayerAreaListener.handlePlayerAreaCheck(
-                                                                    nearbyPlayer, laserX, laserZ, fireTimestamp);
                                                     if (distanceSquared <= rangeSquared) {
-                                                        // Use PlayerAreaListener to track state changes with timestamp
-
-                                                        if (result.isInside) {
-                                                            // Only play sound if player is in range
-                                                            nearbyPlayer.playSound(
-                                                                    sound, volumeShoot, pitchShoot);
-                                                            SoundLogger.logSoundEvent(soundId.toString(), blockPos, range);
-                                                            SoundLogger.logSoundPlayed(
+                                                        nearbyPlayer.playSound(
+                                                                sound, volumeShoot, pitchShoot);
+                                                        SoundLogger.logSoundEvent(soundId.toString(), blockPos, range);
+                                                        SoundLogger.logSoundPlayed(
+                                                                nearbyPlayer.getName().getString(),
+                                                                soundId.toString(),
+                                                                volumeShoot,
+                                                                pitchShoot);
+
+                                                        if (ServerConfig.INSTANCE.isDebugMode()) {
+                                                            LOGGER.info(
+                                                                    "[SOUND] Playing sound to player {} (distance: {})",
                                                                     nearbyPlayer.getName().getString(),
-                                                                    soundId.toString(),
-                                                                    volumeShoot,
-                                                                    pitchShoot);
-
-                                                            if (ServerConfig.INSTANCE.isDebugMode()) {
-                                                                LOGGER.info(
-                                                                        "[SOUND] Playing sound to player {} (distance: {})",
-                                                                        nearbyPlayer.getName().getString(),
-                                                                        Math.sqrt(distanceSquared));
-                                                            }
-                                                        }
-
-                                                        // Handle state changes (enter/leave detection)
-                                                        handleAreaStateChange(nearbyPlayer, result, laserX, laserZ);
-                                                    } else {
-                                                        // Player is outside range - check if they left the zone
-
-                                                        if (result.hasLeft()) {
-                                                            // Player just left the range
-                                                            handleAreaStateChange(nearbyPlayer, result, laserX, laserZ);
+                                                                    Math.sqrt(distanceSquared));
                                                         }
                                                     }
                                                 });
@@ -199,93 +196,96 @@ public class OrbitalRailgun implements ModInitializer {
 
                     context.player().server.execute(
                             () -> {
-                                double laserX = blockPos.getX() + 0.5;
-                                double laserZ = blockPos.getZ() + 0.5;
-
-                                orbitalRailgun.shoot(context.player());
-
-                                if (ServerConfig.INSTANCE.isDebugMode()) {
-                                    LOGGER.info("[STRIKE] Orbital railgun fired at ({}, {})", laserX, laserZ);
+                                ServerPlayerEntity shooter = context.player();
+                                StrikeAdmission.Decision decision =
+                                        OrbitalRailgunStrikeManager.requestStrike(shooter, blockPos);
+                                if (decision == StrikeAdmission.Decision.REJECT) {
+                                    shooter.sendMessage(
+                                            Text.translatable("message.orbital_railgun_enhanced.strike.rejected"), true);
+                                    stopAnimationForPlayer(shooter);
+                                    return;
                                 }
 
-                                double range = ServerConfig.INSTANCE.getSoundRange();
-
-                                List<Entity> nearby = context.player().getWorld().getOtherEntities(null, Box.of(blockPos.toCenterPos(), range, range, range));
-                                OrbitalRailgunStrikeManager.activeStrikes.put(
-                                        new Pair<>(blockPos, nearby),
-                                        new Pair<>(context.player().server.getTicks(), context.player().getWorld().getRegistryKey()));
+                                orbitalRailgun.shoot(shooter);
 
                                 if (ServerConfig.INSTANCE.isDebugMode()) {
-                                    LOGGER.info("[STRIKE] Registered strike with {} nearby entities within range {}", nearby.size(), range);
+                                    LOGGER.info("[STRIKE] Orbital railgun fired at {} ({})", blockPos, decision);
                                 }
 
-                                nearby.forEach(
-                                        (entity -> {
-                                            if (entity instanceof ServerPlayerEntity serverPlayer) {
-                                                if (PlayerAreaListener.isPlayerInRange(serverPlayer, laserX, laserZ)) {
-                                                    ServerPlayNetworking.send(serverPlayer, new ClientSyncPayload(blockPos));
-                                                    if (ServerConfig.INSTANCE.isDebugMode()) {
-                                                        LOGGER.debug("[NETWORK] Sent CLIENT_SYNC_PACKET to {} (within range {})", serverPlayer.getName().getString(), range);
-                                                    }
-                                                } else {
-                                                    if (ServerConfig.INSTANCE.isDebugMode()) {
-                                                        LOGGER.debug("[NETWORK] Skipped CLIENT_SYNC_PACKET for {} (outside range {})", serverPlayer.getName().getString(), range);
-                                                    }
-                                                }
-                                            }
-                                        }));
-
-                                int totalPlayers = context.player().server.getPlayerManager().getPlayerList().size();
-                                if (ServerConfig.INSTANCE.isDebugMode()) {
-                                    LOGGER.info("[STRIKE] Checking {} players on server for range", totalPlayers);
+                                if (decision == StrikeAdmission.Decision.QUEUE) {
+                                    shooter.sendMessage(
+                                            Text.translatable(
+                                                    "message.orbital_railgun_enhanced.strike.queued",
+                                                    OrbitalRailgunStrikeManager.getQueuedStrikes()),
+                                            true);
+                                    stopAnimationForPlayer(shooter);
                                 }
+                            });
+                });
 
-                                context.player().server
-                                        .getPlayerManager()
-                                        .getPlayerList()
-                                        .forEach(
-                                                serverPlayer -> {
-                                                    PlayerAreaListener.AreaCheckResult result =
-                                                            PlayerAreaListener.handlePlayerAreaCheck(
-                                                                    serverPlayer, laserX, laserZ);
+        // Players are re-checked against the sound zones when they move into another chunk column
+        ServerTickEvents.END_SERVER_TICK.register(PlayerAreaListener::tick);
 
-                                                    handleAreaStateChange(serverPlayer, result, laserX, laserZ);
-                                                });
+        // Pick up strikes that were still pending when the world was last saved
+        ServerWorldEvents.LOAD.register((server, world) -> OrbitalRailgunStrikeManager.restore(world));
 
-                                if (ServerConfig.INSTANCE.isDebugMode()) {
-                                    LOGGER.info("========================================");
-                                }
-                            });
-                });
+        // Each world ticks its own strikes; queued strikes are launched once every world has ticked
+        ServerTickEvents.END_WORLD_TICK.register(OrbitalRailgunStrikeManager::tickWorld);
+        ServerTickEvents.END_SERVER_TICK.register(OrbitalRailgunStrikeManager::tick);
 
-        ServerTickEvents.END_SERVER_TICK.register(
+        // Finish any crater that is still being cleared so a stop never leaves one half done
+        ServerLifecycleEvents.SERVER_STOPPING.register(
                 server -> {
-                    if (server.getTicks() % 20 == 0) {
-                        server
-                                .getPlayerManager()
-                                .getPlayerList()
-                                .forEach(PlayerAreaListener::checkPlayerPosition);
-                    }
+                    OrbitalRailgunStrikeManager.finishCraters();
+                    OrbitalRailgunStrikeManager.clear();
+                    PlayerAreaListener.clear();
                 });
 
-        ServerTickEvents.END_SERVER_TICK.register(OrbitalRailgunStrikeManager::tick);
-
         LOGGER.info("Orbital Railgun Enhanced initialization complete!");
     }
 
+    /**
+     * Starts the client-side effects of a strike that has just launched: syncs the animation to
+     * players in range and plays the railgun sound to them. Runs for queued strikes too, once they
+     * get a slot.
+     */
+    private static void onStrikeLaunched(ServerWorld world, Strike strike) {
+        BlockPos blockPos = strike.getTarget();
+        double laserX = blockPos.getX() + 0.5;
+        double laserZ = blockPos.getZ() + 0.5;
+
+        // Creating the zone works out its audience and plays the shot to everyone in it; the sync
+        // goes to the same players instead of searching for them again
+        SoundZone zone = PlayerAreaListener.zoneAt(world, laserX, laserZ, System.currentTimeMillis());
+        Collection<ServerPlayerEntity> audience = zone.getAudience();
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.info("[STRIKE] Launched strike {} with {} players within range {}", strike.getId(), audience.size(), zone.getRange());
+        }
+
+        for (ServerPlayerEntity serverPlayer : audience) {
+            ServerPlayNetworking.send(serverPlayer, new ClientSyncPayload(blockPos));
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug("[NETWORK] Sent CLIENT_SYNC_PACKET to {} (within range {})", serverPlayer.getName().getString(), zone.getRange());
+            }
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.info("========================================");
+        }
+    }
+
     /**
      * Handles area state changes for a player (entering/leaving the sound range). Plays railgun
      * sounds to players who are in range when the railgun fires.
      */
-    private static void handleAreaStateChange(
-            ServerPlayerEntity player,
-            PlayerAreaListener.AreaCheckResult result,
-            double laserX,
-            double laserZ) {
-        if (result.hasEntered()) {
+    private static void handleAreaStateChange(ServerPlayerEntity player, int flags, SoundZone zone) {
+        double laserX = zone.getX();
+        double laserZ = zone.getZ();
+        if (AreaFlags.hasEntered(flags)) {
             // Player just entered the sound range
             long currentTime = System.currentTimeMillis();
-            long elapsedMs = currentTime - result.fireTimestamp;
+            long elapsedMs = currentTime - zone.getFireTimestamp();
 
             if (ServerConfig.INSTANCE.isDebugMode()) {
                 LOGGER.info(
@@ -315,8 +315,23 @@ public class OrbitalRailgun implements ModInitializer {
                 }
             }
 
-        } else if (result.hasLeft()) {
-            // Player just left the sound range - stop any playing area sounds
+        } else if (AreaFlags.hasLeft(flags)) {
+            SoundLogger.logPlayerExitRange(player.getName().getString());
+
+            // The client has one railgun sound and animation, which may belong to another strike
+            // the player is still in range of
+            if (PlayerAreaListener.isInsideAnyZone(player)) {
+                if (ServerConfig.INSTANCE.isDebugMode()) {
+                    LOGGER.info(
+                            "[AREA] Player {} left sound range at ({}, {}) - still in range of another strike",
+                            player.getName().getString(),
+                            laserX,
+                            laserZ);
+                }
+                return;
+            }
+
+            // Player just left the last sound range - stop any playing area sounds
             if (ServerConfig.INSTANCE.isDebugMode()) {
                 LOGGER.info(
                         "[AREA] Player {} left sound range at ({}, {}) - stopping sounds and animation",
@@ -325,15 +340,13 @@ public class OrbitalRailgun implements ModInitializer {
                         laserZ);
             }
 
-            SoundLogger.logPlayerExitRange(player.getName().getString());
-
             // Send packet to client to stop area-based sounds
             stopAreaSoundsForPlayer(player);
 
             // Send packet to client to stop the animation
             stopAnimationForPlayer(player);
 
-        } else if (result.isInside) {
+        } else if (AreaFlags.isInside(flags)) {
             // Player is still inside the range (already heard the sound)
             if (ServerConfig.INSTANCE.isDebugMode()) {
                 LOGGER.debug(
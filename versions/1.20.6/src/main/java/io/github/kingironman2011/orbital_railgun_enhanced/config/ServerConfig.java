@@ -3,6 +3,12 @@ package io.github.kingironman2011.orbital_railgun_enhanced.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.github.kingironman2011.orbital_railgun_enhanced.OrbitalRailgun;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterContainment;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterDepthMode;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterLighting;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.CraterShape;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.DamageFalloff;
+import io.github.kingironman2011.orbital_railgun_enhanced.strike.StrikeOverflowPolicy;
 
 import java.io.File;
 import java.io.FileReader;
@@ -23,11 +29,29 @@ public class ServerConfig {
 
     // Strike settings
     private float strikeDamage = 20.0f;
+    private DamageFalloff damageFalloff = DamageFalloff.NONE;
     private int cooldownTicks = 100;
+    private double pullRadius = 64.0;
+    private String strikeProfile = "";
+    private int craterRadius = 24;
+    private CraterShape craterShape = CraterShape.DISK;
+    private CraterDepthMode craterDepthMode = CraterDepthMode.FULL_HEIGHT;
+    private int craterDepthBelow = 64;
+    private int craterHeightAbove = 128;
 
     // Performance settings
     private int maxActiveStrikes = 10;
+    private int maxStrikesPerDimension = 0;
+    private int strikeQueueSize = 16;
+    private StrikeOverflowPolicy strikeOverflowPolicy = StrikeOverflowPolicy.QUEUE;
     private boolean enableParticles = true;
+    private boolean timeSlicedCraters = true;
+    private int craterTickBudgetMicros = 10000;
+    private boolean craterShellUpdates = true;
+    private CraterContainment craterContainment = CraterContainment.NONE;
+    private CraterLighting craterLighting = CraterLighting.BATCHED;
+    private boolean asyncCraterPlanning = true;
+    private int craterDropStacks = 27;
 
     public boolean isDebugMode() {
         return debugMode;
@@ -41,18 +65,97 @@ public class ServerConfig {
         return strikeDamage;
     }
 
+    public DamageFalloff getDamageFalloff() {
+        return damageFalloff;
+    }
+
     public int getCooldownTicks() {
         return cooldownTicks;
     }
 
+    public double getPullRadius() {
+        return pullRadius;
+    }
+
+    /**
+     * @return The id of the datapack strike profile to use, or blank for the settings in this file
+     */
+    public String getStrikeProfile() {
+        return strikeProfile;
+    }
+
+    public int getCraterRadius() {
+        return craterRadius;
+    }
+
+    public CraterShape getCraterShape() {
+        return craterShape;
+    }
+
+    public CraterDepthMode getCraterDepthMode() {
+        return craterDepthMode;
+    }
+
+    public int getCraterDepthBelow() {
+        return craterDepthBelow;
+    }
+
+    public int getCraterHeightAbove() {
+        return craterHeightAbove;
+    }
+
     public int getMaxActiveStrikes() {
         return maxActiveStrikes;
     }
 
+    public int getMaxStrikesPerDimension() {
+        return maxStrikesPerDimension;
+    }
+
+    public int getStrikeQueueSize() {
+        return strikeQueueSize;
+    }
+
+    public StrikeOverflowPolicy getStrikeOverflowPolicy() {
+        return strikeOverflowPolicy;
+    }
+
     public boolean isEnableParticles() {
         return enableParticles;
     }
 
+    public boolean isTimeSlicedCraters() {
+        return timeSlicedCraters;
+    }
+
+    public int getCraterTickBudgetMicros() {
+        return craterTickBudgetMicros;
+    }
+
+    public boolean isCraterShellUpdates() {
+        return craterShellUpdates;
+    }
+
+    public CraterContainment getCraterContainment() {
+        return craterContainment;
+    }
+
+    public CraterLighting getCraterLighting() {
+        return craterLighting;
+    }
+
+    public boolean isAsyncCraterPlanning() {
+        return asyncCraterPlanning;
+    }
+
+    /**
+     * @return The most merged item stacks a crater drops from the containers it destroys; 0
+     *     destroys their contents
+     */
+    public int getCraterDropStacks() {
+        return craterDropStacks;
+    }
+
     public void setDebugMode(boolean debugMode) {
         this.debugMode = debugMode;
         saveConfig();
@@ -79,6 +182,14 @@ public class ServerConfig {
         }
     }
 
+    public void setDamageFalloff(DamageFalloff damageFalloff) {
+        this.damageFalloff = damageFalloff;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Damage falloff set to: {}", damageFalloff);
+        }
+    }
+
     public void setCooldownTicks(int cooldownTicks) {
         this.cooldownTicks = cooldownTicks;
         saveConfig();
@@ -87,6 +198,62 @@ public class ServerConfig {
         }
     }
 
+    public void setPullRadius(double pullRadius) {
+        this.pullRadius = pullRadius;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Pull radius set to: {}", pullRadius);
+        }
+    }
+
+    public void setStrikeProfile(String strikeProfile) {
+        this.strikeProfile = strikeProfile;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Strike profile set to: {}", strikeProfile);
+        }
+    }
+
+    public void setCraterRadius(int craterRadius) {
+        this.craterRadius = craterRadius;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater radius set to: {}", craterRadius);
+        }
+    }
+
+    public void setCraterShape(CraterShape craterShape) {
+        this.craterShape = craterShape;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater shape set to: {}", craterShape);
+        }
+    }
+
+    public void setCraterDepthMode(CraterDepthMode craterDepthMode) {
+        this.craterDepthMode = craterDepthMode;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater depth mode set to: {}", craterDepthMode);
+        }
+    }
+
+    public void setCraterDepthBelow(int craterDepthBelow) {
+        this.craterDepthBelow = craterDepthBelow;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater depth below set to: {}", craterDepthBelow);
+        }
+    }
+
+    public void setCraterHeightAbove(int craterHeightAbove) {
+        this.craterHeightAbove = craterHeightAbove;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater height above set to: {}", craterHeightAbove);
+        }
+    }
+
     public void setMaxActiveStrikes(int maxActiveStrikes) {
         this.maxActiveStrikes = maxActiveStrikes;
         saveConfig();
@@ -95,6 +262,30 @@ public class ServerConfig {
         }
     }
 
+    public void setMaxStrikesPerDimension(int maxStrikesPerDimension) {
+        this.maxStrikesPerDimension = maxStrikesPerDimension;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Max strikes per dimension set to: {}", maxStrikesPerDimension);
+        }
+    }
+
+    public void setStrikeQueueSize(int strikeQueueSize) {
+        this.strikeQueueSize = strikeQueueSize;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Strike queue size set to: {}", strikeQueueSize);
+        }
+    }
+
+    public void setStrikeOverflowPolicy(StrikeOverflowPolicy strikeOverflowPolicy) {
+        this.strikeOverflowPolicy = strikeOverflowPolicy;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Strike overflow policy set to: {}", strikeOverflowPolicy);
+        }
+    }
+
     public void setEnableParticles(boolean enableParticles) {
         this.enableParticles = enableParticles;
         saveConfig();
@@ -103,6 +294,62 @@ public class ServerConfig {
         }
     }
 
+    public void setTimeSlicedCraters(boolean timeSlicedCraters) {
+        this.timeSlicedCraters = timeSlicedCraters;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Time-sliced craters enabled: {}", timeSlicedCraters);
+        }
+    }
+
+    public void setCraterTickBudgetMicros(int craterTickBudgetMicros) {
+        this.craterTickBudgetMicros = craterTickBudgetMicros;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater tick budget set to: {} us", craterTickBudgetMicros);
+        }
+    }
+
+    public void setCraterShellUpdates(boolean craterShellUpdates) {
+        this.craterShellUpdates = craterShellUpdates;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater shell updates enabled: {}", craterShellUpdates);
+        }
+    }
+
+    public void setCraterContainment(CraterContainment craterContainment) {
+        this.craterContainment = craterContainment;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater containment set to: {}", craterContainment);
+        }
+    }
+
+    public void setCraterLighting(CraterLighting craterLighting) {
+        this.craterLighting = craterLighting;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater lighting set to: {}", craterLighting);
+        }
+    }
+
+    public void setAsyncCraterPlanning(boolean asyncCraterPlanning) {
+        this.asyncCraterPlanning = asyncCraterPlanning;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Async crater planning enabled: {}", asyncCraterPlanning);
+        }
+    }
+
+    public void setCraterDropStacks(int craterDropStacks) {
+        this.craterDropStacks = craterDropStacks;
+        saveConfig();
+        if (isDebugMode()) {
+            OrbitalRailgun.LOGGER.info("Crater drop stacks set to: {}", craterDropStacks);
+        }
+    }
+
     public void loadConfig() {
         if (CONFIG_FILE.exists()) {
             try (FileReader reader = new FileReader(CONFIG_FILE)) {
@@ -112,8 +359,32 @@ public class ServerConfig {
                     this.soundRange = config.soundRange;
                     this.strikeDamage = config.strikeDamage;
                     this.cooldownTicks = config.cooldownTicks;
+                    this.pullRadius = config.pullRadius;
+                    // Same range as the craterRadius command; a hand-edited value outside it would break CraterMask
+                    this.craterRadius = Math.max(1, Math.min(128, config.craterRadius));
+                    this.craterShape = config.craterShape != null ? config.craterShape : CraterShape.DISK;
+                    this.craterDepthMode =
+                            config.craterDepthMode != null ? config.craterDepthMode : CraterDepthMode.FULL_HEIGHT;
+                    this.craterDepthBelow = config.craterDepthBelow;
+                    this.craterHeightAbove = config.craterHeightAbove;
                     this.maxActiveStrikes = config.maxActiveStrikes;
+                    this.maxStrikesPerDimension = config.maxStrikesPerDimension;
+                    this.strikeQueueSize = config.strikeQueueSize;
+                    this.strikeOverflowPolicy =
+                            config.strikeOverflowPolicy != null ? config.strikeOverflowPolicy : StrikeOverflowPolicy.QUEUE;
                     this.enableParticles = config.enableParticles;
+                    this.timeSlicedCraters = config.timeSlicedCraters;
+                    this.craterTickBudgetMicros = config.craterTickBudgetMicros;
+                    this.craterShellUpdates = config.craterShellUpdates;
+                    this.craterContainment =
+                            config.craterContainment != null ? config.craterContainment : CraterContainment.NONE;
+                    this.craterLighting =
+                            config.craterLighting != null ? config.craterLighting : CraterLighting.BATCHED;
+                    this.asyncCraterPlanning = config.asyncCraterPlanning;
+                    this.craterDropStacks = config.craterDropStacks;
+                    this.strikeProfile = config.strikeProfile != null ? config.strikeProfile : "";
+                    this.damageFalloff =
+                            config.damageFalloff != null ? config.damageFalloff : DamageFalloff.NONE;
                     OrbitalRailgun.LOGGER.info(
                             "Server configuration loaded from: {}", CONFIG_FILE.getAbsolutePath());
                 } else {
@@ -0,0 +1,44 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.listener;
+
+/**
+ * The outcome of checking a player against a sound zone, packed into an int so that checks
+ * allocate nothing.
+ */
+public final class AreaFlags {
+    /**
+     * The player is inside the zone now.
+     */
+    public static final int INSIDE = 1;
+    /**
+     * The player was inside the zone before the check.
+     */
+    public static final int WAS_INSIDE = 1 << 1;
+
+    private AreaFlags() {
+    }
+
+    public static boolean isInside(int flags) {
+        return (flags & INSIDE) != 0;
+    }
+
+    /**
+     * @return true if the player just entered the area
+     */
+    public static boolean hasEntered(int flags) {
+        return (flags & (INSIDE | WAS_INSIDE)) == INSIDE;
+    }
+
+    /**
+     * @return true if the player just left the area
+     */
+    public static boolean hasLeft(int flags) {
+        return (flags & (INSIDE | WAS_INSIDE)) == WAS_INSIDE;
+    }
+
+    /**
+     * @return true if the player's state changed
+     */
+    public static boolean hasStateChanged(int flags) {
+        return hasEntered(flags) || hasLeft(flags);
+    }
+}
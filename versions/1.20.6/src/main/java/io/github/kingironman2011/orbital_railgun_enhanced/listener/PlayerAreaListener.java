@@ -1,6 +1,8 @@
 package io.github.kingironman2011.orbital_railgun_enhanced.listener;
 
-import java.util.Map;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
@@ -8,31 +10,22 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.github.kingironman2011.orbital_railgun_enhanced.OrbitalRailgun;
 import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
 
 public class PlayerAreaListener {
     private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
-    private static final Map<UUID, AreaState> playerStates = new ConcurrentHashMap<>();
+    private static final PlayerZoneStore players = new PlayerZoneStore();
+    private static final SoundZoneIndex zones = new SoundZoneIndex();
+    private static final Set<ServerPlayerEntity> movedPlayers = ConcurrentHashMap.newKeySet();
+    private static volatile boolean zonesActive;
     private static Consumer<AreaChangeEvent> areaChangeCallback = null;
 
-    /**
-     * Tracks state for a player in relation to a laser impact area
-     */
-    private static class AreaState {
-        boolean isInside;
-        double lastLaserX;
-        double lastLaserZ;
-        long fireTimestamp; // When the railgun was fired (in milliseconds)
-
-        AreaState(boolean isInside, double laserX, double laserZ, long fireTimestamp) {
-            this.isInside = isInside;
-            this.lastLaserX = laserX;
-            this.lastLaserZ = laserZ;
-            this.fireTimestamp = fireTimestamp;
-        }
-    }
-
     /**
      * Checks if a player is within the sound range of a laser impact location. Uses circular distance
      * check (more accurate than square bounds).
@@ -57,87 +50,93 @@ public class PlayerAreaListener {
     }
 
     /**
-     * Handles player area check and tracks state changes (entering/leaving area). Returns information
-     * about whether the player's state changed.
+     * Finds the sound zone of a shot, creating it if this is the first time the shot is seen.
+     * Shots are told apart by their world and impact location.
      *
-     * @param player The player to check
-     * @param laserX The X coordinate of the laser impact
-     * @param laserZ The Z coordinate of the laser impact
-     * @return An AreaCheckResult containing state information
-     */
-    public static AreaCheckResult handlePlayerAreaCheck(
-            ServerPlayerEntity player, double laserX, double laserZ) {
-        return handlePlayerAreaCheck(player, laserX, laserZ, System.currentTimeMillis());
-    }
-
-    /**
-     * Handles player area check and tracks state changes (entering/leaving area) with timestamp.
-     * Returns information about whether the player's state changed.
+     * <p>A new zone's audience is computed here, once, from the players of the world; every player
+     * found inside is reported as entering. After that the audience only changes when
+     * {@link #checkPlayerPosition} sees a player cross the zone's edge.
      *
-     * @param player        The player to check
+     * @param world         The world the shot was fired in
      * @param laserX        The X coordinate of the laser impact
      * @param laserZ        The Z coordinate of the laser impact
-     * @param fireTimestamp The timestamp when the railgun was fired (in milliseconds)
-     * @return An AreaCheckResult containing state information
+     * @param fireTimestamp The timestamp when the railgun was fired (in milliseconds), used if the
+     *                      zone is new
      */
-    public static AreaCheckResult handlePlayerAreaCheck(
-            ServerPlayerEntity player, double laserX, double laserZ, long fireTimestamp) {
-        UUID playerId = player.getUuid();
-        boolean currentlyInside = isPlayerInRange(player, laserX, laserZ);
+    public static SoundZone zoneAt(ServerWorld world, double laserX, double laserZ, long fireTimestamp) {
+        RegistryKey<World> dimension = world.getRegistryKey();
+        SoundZone zone = zones.find(dimension, laserX, laserZ);
+        if (zone != null) {
+            return zone;
+        }
 
-        AreaState previousState = playerStates.get(playerId);
-        boolean wasInside = previousState != null && previousState.isInside;
+        zone = zones.add(dimension, laserX, laserZ, ServerConfig.INSTANCE.getSoundRange(), fireTimestamp);
+        zonesActive = true;
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            if (mayHear(player, zone) && zone.contains(player.getX(), player.getZ())) {
+                setInside(player, players.join(player.getUuid()), zone, true);
+            }
+        }
 
-        boolean isNewLocation =
-                previousState == null
-                        || previousState.lastLaserX != laserX
-                        || previousState.lastLaserZ != laserZ;
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[AREA] New laser location: ({}, {}) in {} at time {} with {} players in range",
+                    laserX,
+                    laserZ,
+                    dimension.getValue(),
+                    fireTimestamp,
+                    zone.getAudience().size());
+        }
+        return zone;
+    }
 
-        // Use the existing timestamp if this is the same location, otherwise use the new one
-        long timestamp = isNewLocation ? fireTimestamp : previousState.fireTimestamp;
+    /**
+     * Cheap check to run before {@link SoundZone#contains}: a player it rejects cannot be inside
+     * the zone.
+     *
+     * @return Whether the player's chunk overlaps the zone's bounding square
+     */
+    private static boolean mayHear(ServerPlayerEntity player, SoundZone zone) {
+        return zone.reachesChunk(player.getChunkPos().x, player.getChunkPos().z);
+    }
 
-        playerStates.put(playerId, new AreaState(currentlyInside, laserX, laserZ, timestamp));
+    /**
+     * @return Whether the player is inside any active sound zone
+     */
+    public static boolean isInsideAnyZone(ServerPlayerEntity player) {
+        int slot = players.slotOf(player.getUuid());
+        return slot >= 0 && players.nextInside(slot, 0) >= 0;
+    }
 
-        AreaCheckResult result = new AreaCheckResult();
-        result.isInside = currentlyInside;
-        result.wasInside = wasInside;
-        result.isNewLocation = isNewLocation;
-        result.fireTimestamp = timestamp;
+    /**
+     * Gives a joining player a state slot
+     */
+    public static void onPlayerJoin(ServerPlayerEntity player) {
+        players.join(player.getUuid());
+    }
 
-        if (ServerConfig.INSTANCE.isDebugMode()) {
-            if (isNewLocation) {
-                LOGGER.debug(
-                        "[AREA] New laser location: ({}, {}) for player {} at time {}",
-                        laserX,
-                        laserZ,
-                        player.getName().getString(),
-                        timestamp);
-            }
-            if (!wasInside && currentlyInside) {
-                long elapsedMs = System.currentTimeMillis() - timestamp;
-                LOGGER.debug(
-                        "[AREA] Player {} entered sound range at ({}, {}) - elapsed: {}ms",
-                        player.getName().getString(),
-                        laserX,
-                        laserZ,
-                        elapsedMs);
-            } else if (wasInside && !currentlyInside) {
-                LOGGER.debug(
-                        "[AREA] Player {} left sound range at ({}, {})",
-                        player.getName().getString(),
-                        laserX,
-                        laserZ);
+    /**
+     * Clears the state for a specific player and frees their slot (useful when player disconnects)
+     */
+    public static void clearPlayerState(UUID playerId) {
+        int slot = players.slotOf(playerId);
+        if (slot >= 0) {
+            for (int zoneSlot = players.nextInside(slot, 0); zoneSlot >= 0; zoneSlot = players.nextInside(slot, zoneSlot + 1)) {
+                zones.get(zoneSlot).removeFromAudience(playerId);
             }
         }
-
-        return result;
+        players.leave(playerId);
+        movedPlayers.removeIf(player -> player.getUuid().equals(playerId));
     }
 
     /**
-     * Clears the state for a specific player (useful when player disconnects)
+     * Forgets every sound zone and player state, for when the server stops
      */
-    public static void clearPlayerState(UUID playerId) {
-        playerStates.remove(playerId);
+    public static void clear() {
+        players.clear();
+        movedPlayers.clear();
+        zones.clear();
+        zonesActive = false;
     }
 
     /**
@@ -148,72 +147,145 @@ public class PlayerAreaListener {
     }
 
     /**
-     * Periodically checks if a player's position has changed relative to tracked laser locations.
-     * This is called from a tick event to detect when players move out of range.
+     * Called whenever a player moves into another chunk column or world, teleports included. While
+     * no sound zone is active this does nothing; otherwise the player is checked at the end of the
+     * tick. Safe to call from any world's tick thread.
      */
-    public static void checkPlayerPosition(ServerPlayerEntity player) {
-        UUID playerId = player.getUuid();
-        AreaState state = playerStates.get(playerId);
-
-        if (state == null) {
-            return;
+    public static void onPlayerMoved(ServerPlayerEntity player) {
+        if (zonesActive) {
+            movedPlayers.add(player);
         }
+    }
 
-        boolean currentlyInside = isPlayerInRange(player, state.lastLaserX, state.lastLaserZ);
+    /**
+     * Swaps a respawned player's new entity into the audiences the old one was part of, then
+     * re-checks it, since it may have respawned somewhere else.
+     */
+    public static void onPlayerRespawn(ServerPlayerEntity player) {
+        int slot = players.slotOf(player.getUuid());
+        if (slot >= 0) {
+            for (int zoneSlot = players.nextInside(slot, 0); zoneSlot >= 0; zoneSlot = players.nextInside(slot, zoneSlot + 1)) {
+                zones.get(zoneSlot).replaceInAudience(player);
+            }
+        }
+        onPlayerMoved(player);
+    }
 
-        if (state.isInside != currentlyInside) {
-            if (ServerConfig.INSTANCE.isDebugMode()) {
-                LOGGER.debug(
-                        "[AREA] Player {} position changed relative to laser at ({}, {})",
-                        player.getName().getString(),
-                        state.lastLaserX,
-                        state.lastLaserZ);
+    /**
+     * Re-checks the players that crossed into another chunk column since the last tick, and drops
+     * expired zones once a second. Does nothing at all once every zone has expired.
+     */
+    public static void tick(MinecraftServer server) {
+        if (!zonesActive) {
+            return;
+        }
+        if (server.getTicks() % 20 == 0) {
+            expireZones(System.currentTimeMillis());
+        }
+        for (Iterator<ServerPlayerEntity> it = movedPlayers.iterator(); it.hasNext(); ) {
+            ServerPlayerEntity player = it.next();
+            it.remove();
+            if (!player.isRemoved()) {
+                checkPlayerPosition(player);
             }
+        }
+    }
 
-            AreaCheckResult result = handlePlayerAreaCheck(player, state.lastLaserX, state.lastLaserZ);
+    /**
+     * Checks if a player's position has changed relative to the active sound zones.
+     * Only the zones listed in the player's grid cell and the zones the player was inside are
+     * looked at, so the cost does not grow with the number of strikes elsewhere. Each zone the
+     * player entered or left gets its own callback.
+     */
+    public static void checkPlayerPosition(ServerPlayerEntity player) {
+        RegistryKey<World> dimension = player.getWorld().getRegistryKey();
+        double x = player.getX();
+        double z = player.getZ();
+        List<SoundZone> near = zones.near(x, z);
+        int slot = players.slotOf(player.getUuid());
+        if (near.isEmpty() && (slot < 0 || players.nextInside(slot, 0) < 0)) {
+            return;
+        }
+        if (slot < 0) {
+            slot = players.join(player.getUuid());
+        }
 
-            if (areaChangeCallback != null && result.hasStateChanged()) {
-                areaChangeCallback.accept(
-                        new AreaChangeEvent(player, result, state.lastLaserX, state.lastLaserZ));
+        for (int zoneSlot = players.nextInside(slot, 0); zoneSlot >= 0; zoneSlot = players.nextInside(slot, zoneSlot + 1)) {
+            SoundZone zone = zones.get(zoneSlot);
+            if (!zone.contains(dimension, x, z)) {
+                setInside(player, slot, zone, false);
+            }
+        }
+        for (SoundZone zone : near) {
+            if (zone.contains(dimension, x, z) && !players.isInside(slot, zone.getSlot())) {
+                setInside(player, slot, zone, true);
             }
         }
     }
 
     /**
-     * Event data for area state changes
+     * Drops the zones whose railgun sound has finished playing. Players inside them are not told,
+     * since there is nothing left to stop.
      */
-    public record AreaChangeEvent(
-            ServerPlayerEntity player, AreaCheckResult result, double laserX, double laserZ) {
+    public static void expireZones(long now) {
+        List<SoundZone> expired = zones.removeExpired(now, OrbitalRailgun.RAILGUN_SOUND_DURATION_MS);
+        if (expired.isEmpty()) {
+            return;
+        }
+        for (SoundZone zone : expired) {
+            players.clearZone(zone.getSlot());
+        }
+        if (zones.isEmpty()) {
+            zonesActive = false;
+            movedPlayers.clear();
+        }
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug("[AREA] Expired {} sound zones, {} still active", expired.size(), zones.size());
+        }
     }
 
     /**
-     * Result of an area check, containing state information
+     * @return How many sound zones are active
      */
-    public static class AreaCheckResult {
-        public boolean isInside;
-        public boolean wasInside;
-        public boolean isNewLocation;
-        public long fireTimestamp; // When the railgun was fired
+    public static int getActiveZones() {
+        return zones.size();
+    }
 
-        /**
-         * @return true if the player just entered the area
-         */
-        public boolean hasEntered() {
-            return isInside && !wasInside;
+    /**
+     * Records a player entering or leaving a zone, keeping the zone's audience in step with the
+     * membership bits, and reports the change.
+     */
+    private static void setInside(ServerPlayerEntity player, int slot, SoundZone zone, boolean inside) {
+        int flags = players.update(slot, zone.getSlot(), inside);
+        if (!AreaFlags.hasStateChanged(flags)) {
+            return;
+        }
+        if (inside) {
+            zone.addToAudience(player);
+        } else {
+            zone.removeFromAudience(player.getUuid());
         }
+        onZoneChanged(player, zone, flags);
+    }
 
-        /**
-         * @return true if the player just left the area
-         */
-        public boolean hasLeft() {
-            return !isInside && wasInside;
+    private static void onZoneChanged(ServerPlayerEntity player, SoundZone zone, int flags) {
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[AREA] Player {} {} sound range at ({}, {})",
+                    player.getName().getString(),
+                    AreaFlags.hasEntered(flags) ? "entered" : "left",
+                    zone.getX(),
+                    zone.getZ());
         }
 
-        /**
-         * @return true if the player's state changed
-         */
-        public boolean hasStateChanged() {
-            return hasEntered() || hasLeft();
+        if (areaChangeCallback != null) {
+            areaChangeCallback.accept(new AreaChangeEvent(player, flags, zone));
         }
     }
+
+    /**
+     * Event data for area state changes
+     */
+    public record AreaChangeEvent(ServerPlayerEntity player, int flags, SoundZone zone) {
+    }
 }
@@ -0,0 +1,139 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.listener;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Which sound zones each player is inside, kept as one bit per (player, zone) pair in a single
+ * flat array with one row per player. Players get a dense slot when they join and give it back
+ * when they leave, and zones use the slots handed out by {@link SoundZoneIndex}, so checking a
+ * player against a zone is a map lookup and a few array reads and writes, and allocates nothing.
+ *
+ * <p>Not thread safe; only used from the server thread.
+ */
+final class PlayerZoneStore {
+    private final Object2IntOpenHashMap<UUID> slots = new Object2IntOpenHashMap<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private int words = 1;
+    private long[] membership = new long[16];
+
+    PlayerZoneStore() {
+        slots.defaultReturnValue(-1);
+    }
+
+    /**
+     * @return The player's slot, assigning a free one if the player has none yet
+     */
+    int join(UUID player) {
+        int slot = slots.getInt(player);
+        if (slot >= 0) {
+            return slot;
+        }
+        slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        slots.put(player, slot);
+        if ((slot + 1) * words > membership.length) {
+            membership = Arrays.copyOf(membership, Math.max((slot + 1) * words, membership.length * 2));
+        }
+        Arrays.fill(membership, slot * words, (slot + 1) * words, 0L);
+        return slot;
+    }
+
+    /**
+     * Frees the player's slot for the next player to join.
+     */
+    void leave(UUID player) {
+        int slot = slots.removeInt(player);
+        if (slot < 0) {
+            return;
+        }
+        Arrays.fill(membership, slot * words, (slot + 1) * words, 0L);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * @return The player's slot, or -1 if the player has none
+     */
+    int slotOf(UUID player) {
+        return slots.getInt(player);
+    }
+
+    /**
+     * Records whether a player is inside a zone.
+     *
+     * @return {@link AreaFlags#INSIDE} and {@link AreaFlags#WAS_INSIDE} as they apply
+     */
+    int update(int player, int zone, boolean inside) {
+        ensureZoneCapacity(zone);
+        int word = player * words + (zone >>> 6);
+        long bit = 1L << zone;
+        int flags = (membership[word] & bit) != 0 ? AreaFlags.WAS_INSIDE : 0;
+        if (inside) {
+            membership[word] |= bit;
+            flags |= AreaFlags.INSIDE;
+        } else {
+            membership[word] &= ~bit;
+        }
+        return flags;
+    }
+
+    boolean isInside(int player, int zone) {
+        return zone >>> 6 < words && (membership[player * words + (zone >>> 6)] & 1L << zone) != 0;
+    }
+
+    /**
+     * @return The lowest zone slot at or after {@code from} that the player is inside, or -1
+     */
+    int nextInside(int player, int from) {
+        int row = player * words;
+        for (int word = from >>> 6; word < words; word++) {
+            long bits = membership[row + word];
+            if (word == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (bits != 0) {
+                return word << 6 | Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes every player out of a zone whose slot is being freed.
+     */
+    void clearZone(int zone) {
+        if (zone >>> 6 >= words) {
+            return;
+        }
+        long mask = ~(1L << zone);
+        for (int player = 0; player < slotCount; player++) {
+            membership[player * words + (zone >>> 6)] &= mask;
+        }
+    }
+
+    void clear() {
+        slots.clear();
+        freeCount = 0;
+        slotCount = 0;
+        Arrays.fill(membership, 0L);
+    }
+
+    private void ensureZoneCapacity(int zone) {
+        int needed = (zone >>> 6) + 1;
+        if (needed <= words) {
+            return;
+        }
+        long[] grown = new long[Math.max(slotCount, 1) * needed];
+        for (int player = 0; player < slotCount; player++) {
+            System.arraycopy(membership, player * words, grown, player * needed, words);
+        }
+        membership = grown;
+        words = needed;
+    }
+}
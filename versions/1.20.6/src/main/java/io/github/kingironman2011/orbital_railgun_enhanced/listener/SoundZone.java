@@ -0,0 +1,127 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.listener;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * The area around a railgun shot in which players hear it. Zones are compared by identity, so two
+ * shots at the same spot only share a zone if the second one reuses the first. A zone only covers
+ * the dimension the shot was fired in.
+ *
+ * <p>Each zone also keeps its audience, the players currently inside it, which
+ * {@link PlayerAreaListener} fills when the zone is created and then updates as players enter and
+ * leave, so sends to everyone in range never have to search for them.
+ */
+public final class SoundZone {
+    private final RegistryKey<World> dimension;
+    private final double x;
+    private final double z;
+    private final double range;
+    private final long fireTimestamp;
+    private final int slot;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+    private final Object2ObjectMap<UUID, ServerPlayerEntity> audience = new Object2ObjectOpenHashMap<>();
+    private final Collection<ServerPlayerEntity> audienceView = Collections.unmodifiableCollection(audience.values());
+
+    SoundZone(RegistryKey<World> dimension, double x, double z, double range, long fireTimestamp, int slot) {
+        this.dimension = dimension;
+        this.x = x;
+        this.z = z;
+        this.range = range;
+        this.fireTimestamp = fireTimestamp;
+        this.slot = slot;
+        this.minChunkX = MathHelper.floor(x - range) >> 4;
+        this.minChunkZ = MathHelper.floor(z - range) >> 4;
+        this.maxChunkX = MathHelper.floor(x + range) >> 4;
+        this.maxChunkZ = MathHelper.floor(z + range) >> 4;
+    }
+
+    public RegistryKey<World> getDimension() {
+        return dimension;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public double getRange() {
+        return range;
+    }
+
+    /**
+     * @return When the railgun was fired, in milliseconds
+     */
+    public long getFireTimestamp() {
+        return fireTimestamp;
+    }
+
+    /**
+     * @return The zone's dense index, unique among the zones active at the same time
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @return Whether the point is within the zone's range, by horizontal distance
+     */
+    public boolean contains(double px, double pz) {
+        double dx = px - x;
+        double dz = pz - z;
+        return dx * dx + dz * dz <= range * range;
+    }
+
+    /**
+     * @return Whether the point is in the zone's dimension and within its range
+     */
+    public boolean contains(RegistryKey<World> dimension, double px, double pz) {
+        return this.dimension == dimension && contains(px, pz);
+    }
+
+    /**
+     * @return The players inside the zone, as a live read-only view
+     */
+    public Collection<ServerPlayerEntity> getAudience() {
+        return audienceView;
+    }
+
+    void addToAudience(ServerPlayerEntity player) {
+        audience.put(player.getUuid(), player);
+    }
+
+    void removeFromAudience(UUID player) {
+        audience.remove(player);
+    }
+
+    /**
+     * Swaps in the new entity of a player who is already in the audience, such as after a respawn.
+     */
+    void replaceInAudience(ServerPlayerEntity player) {
+        audience.replace(player.getUuid(), player);
+    }
+
+    /**
+     * A coarse check to run before {@link #contains}: every point the zone contains is in a chunk
+     * for which this returns true.
+     *
+     * @return Whether the chunk overlaps the zone's bounding square
+     */
+    public boolean reachesChunk(int chunkX, int chunkZ) {
+        return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+    }
+}
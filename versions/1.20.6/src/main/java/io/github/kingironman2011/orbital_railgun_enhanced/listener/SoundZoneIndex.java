@@ -0,0 +1,140 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.listener;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A grid of the active {@link SoundZone}s. The grid is made of square cells {@code 1 <<
+ * CELL_SHIFT} blocks wide, and each zone is listed in every cell its bounding square touches. The
+ * zones that can contain a point are therefore exactly the ones listed in that point's cell, so
+ * looking them up costs the same however many zones exist elsewhere. Zones from every dimension
+ * share the grid, so callers check the dimension with {@link SoundZone#contains(RegistryKey,
+ * double, double)}.
+ *
+ * <p>Every zone also gets the lowest free slot number, which is given back when it is removed, so
+ * slots stay dense and can index per-zone state in arrays.
+ *
+ * <p>Not thread safe; only used from the server thread.
+ */
+public final class SoundZoneIndex {
+    static final int CELL_SHIFT = 8;
+
+    private final Long2ObjectMap<List<SoundZone>> cells = new Long2ObjectOpenHashMap<>();
+    private final List<SoundZone> zones = new ArrayList<>();
+    private SoundZone[] bySlot = new SoundZone[64];
+
+    /**
+     * Creates a zone and lists it in every cell it reaches.
+     */
+    public SoundZone add(RegistryKey<World> dimension, double x, double z, double range, long fireTimestamp) {
+        int slot = 0;
+        while (slot < bySlot.length && bySlot[slot] != null) {
+            slot++;
+        }
+        if (slot == bySlot.length) {
+            bySlot = Arrays.copyOf(bySlot, bySlot.length * 2);
+        }
+        SoundZone zone = new SoundZone(dimension, x, z, range, fireTimestamp, slot);
+        bySlot[slot] = zone;
+        zones.add(zone);
+        for (int cellX = cell(x - range); cellX <= cell(x + range); cellX++) {
+            for (int cellZ = cell(z - range); cellZ <= cell(z + range); cellZ++) {
+                cells.computeIfAbsent(key(cellX, cellZ), key -> new ArrayList<>()).add(zone);
+            }
+        }
+        return zone;
+    }
+
+    /**
+     * @return The zone centered exactly on {@code (x, z)} in the dimension, or null if there is none
+     */
+    public SoundZone find(RegistryKey<World> dimension, double x, double z) {
+        for (SoundZone zone : near(x, z)) {
+            if (zone.getDimension() == dimension && zone.getX() == x && zone.getZ() == z) {
+                return zone;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The zones listed in the cell holding {@code (x, z)}, which includes every zone that
+     *     contains the point. The list must not be modified.
+     */
+    public List<SoundZone> near(double x, double z) {
+        List<SoundZone> listed = cells.get(key(cell(x), cell(z)));
+        return listed != null ? listed : List.of();
+    }
+
+    public void remove(SoundZone zone) {
+        if (!zones.remove(zone)) {
+            return;
+        }
+        bySlot[zone.getSlot()] = null;
+        double x = zone.getX();
+        double z = zone.getZ();
+        double range = zone.getRange();
+        for (int cellX = cell(x - range); cellX <= cell(x + range); cellX++) {
+            for (int cellZ = cell(z - range); cellZ <= cell(z + range); cellZ++) {
+                long key = key(cellX, cellZ);
+                List<SoundZone> listed = cells.get(key);
+                if (listed != null && listed.remove(zone) && listed.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every zone fired more than {@code lifetimeMs} before {@code now}.
+     *
+     * @return The zones that were removed
+     */
+    public List<SoundZone> removeExpired(long now, long lifetimeMs) {
+        List<SoundZone> expired = new ArrayList<>();
+        for (SoundZone zone : zones) {
+            if (now - zone.getFireTimestamp() > lifetimeMs) {
+                expired.add(zone);
+            }
+        }
+        for (SoundZone zone : expired) {
+            remove(zone);
+        }
+        return expired;
+    }
+
+    /**
+     * @return The zone using the given slot, or null if the slot is free
+     */
+    public SoundZone get(int slot) {
+        return slot < bySlot.length ? bySlot[slot] : null;
+    }
+
+    public int size() {
+        return zones.size();
+    }
+
+    public boolean isEmpty() {
+        return zones.isEmpty();
+    }
+
+    public void clear() {
+        zones.clear();
+        cells.clear();
+        Arrays.fill(bySlot, null);
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return (long) cellX << 32 | cellZ & 0xFFFFFFFFL;
+    }
+}
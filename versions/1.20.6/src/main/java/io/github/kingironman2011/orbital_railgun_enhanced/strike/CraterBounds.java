@@ -0,0 +1,59 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.minecraft.world.HeightLimitView;
+
+/**
+ * Vertical limits of a crater volume.
+ *
+ * @param mode        Which reference the limits are measured from
+ * @param depthBelow  How many blocks below the reference are cleared
+ * @param heightAbove How many blocks above the impact point are cleared, for
+ *                    {@link CraterDepthMode#IMPACT_RELATIVE}
+ */
+public record CraterBounds(CraterDepthMode mode, int depthBelow, int heightAbove) {
+    public static final CraterBounds FULL_HEIGHT = new CraterBounds(CraterDepthMode.FULL_HEIGHT, 0, 0);
+
+    public static CraterBounds fromConfig() {
+        ServerConfig config = ServerConfig.INSTANCE;
+        return new CraterBounds(
+                config.getCraterDepthMode(), config.getCraterDepthBelow(), config.getCraterHeightAbove());
+    }
+
+    /**
+     * @return The lowest Y level any column of the crater can reach
+     */
+    public int minY(HeightLimitView world, int impactY, CraterMask mask) {
+        int minY = world.getBottomY();
+        if (mode == CraterDepthMode.IMPACT_RELATIVE) {
+            minY = Math.max(minY, impactY - depthBelow);
+        }
+        if (mask.getMaxDepth() != Integer.MAX_VALUE) {
+            minY = Math.max(minY, impactY - mask.getMaxDepth());
+        }
+        return minY;
+    }
+
+    /**
+     * @return The highest Y level any column of the crater can reach
+     */
+    public int maxY(HeightLimitView world, int impactY) {
+        int maxY = world.getTopY() - 1;
+        if (mode == CraterDepthMode.IMPACT_RELATIVE) {
+            maxY = Math.min(maxY, impactY + heightAbove);
+        }
+        return maxY;
+    }
+
+    /**
+     * @param surfaceY The Y level of the highest non-air block in the column
+     * @param minY     The crater-wide lower limit from {@link #minY}
+     * @return The lowest Y level cleared in this column
+     */
+    public int columnMinY(int surfaceY, int minY) {
+        if (mode == CraterDepthMode.SURFACE_RELATIVE) {
+            return Math.max(minY, surfaceY - depthBelow);
+        }
+        return minY;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * What a crater does with the fluids and gravity blocks at its rim once it has been cleared.
+ */
+public enum CraterContainment {
+    /**
+     * The rim is left alone, so fluids pour into the crater and gravity blocks fall into it.
+     */
+    NONE,
+    /**
+     * Fluids bordering the crater are frozen in place: water sources turn to ice and flowing water
+     * is drained, lava sources turn to obsidian and flowing lava to cobblestone. Waterlogged blocks
+     * are drained but kept.
+     */
+    FLUIDS,
+    /**
+     * Gravity blocks left hanging over the crater are moved straight down to where they would land,
+     * without becoming falling block entities.
+     */
+    FALLING_BLOCKS,
+    /**
+     * Both {@link #FLUIDS} and {@link #FALLING_BLOCKS}.
+     */
+    ALL;
+
+    public boolean freezesFluids() {
+        return this == FLUIDS || this == ALL;
+    }
+
+    public boolean settlesFallingBlocks() {
+        return this == FALLING_BLOCKS || this == ALL;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * How far up and down a crater reaches. Air above the surface is never visited, whatever the mode.
+ */
+public enum CraterDepthMode {
+    /**
+     * From the bottom of the world to the surface of every column.
+     */
+    FULL_HEIGHT,
+    /**
+     * From {@code craterDepthBelow} blocks under the impact point to {@code craterHeightAbove}
+     * blocks over it.
+     */
+    IMPACT_RELATIVE,
+    /**
+     * From {@code craterDepthBelow} blocks under each column's own surface up to that surface.
+     */
+    SURFACE_RELATIVE
+}
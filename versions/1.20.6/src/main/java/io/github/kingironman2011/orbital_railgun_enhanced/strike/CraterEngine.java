@@ -0,0 +1,338 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.light.LightingProvider;
+import net.minecraft.world.poi.PointOfInterestTypes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Clears strike craters one {@link ChunkSection} at a time. AIR is written straight into the
+ * section palettes instead of going through {@code World#setBlockState}, sections that are
+ * already empty are skipped, and every affected chunk gets a single heightmap, save and client
+ * pass once its sections are done. Lighting is a separate per-chunk pass, see {@link CraterLighting}.
+ *
+ * <p>Cleared blocks are not tracked as block changes, so clients never get per-block or
+ * per-section delta packets for a crater. Each finished chunk is sent once as a full chunk data
+ * packet to the players tracking it instead; light changes follow through the usual light updates.
+ */
+public final class CraterEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private CraterEngine() {
+    }
+
+    /**
+     * Runs every work unit of a crater job in a single call.
+     *
+     * @param job The crater to clear
+     * @return The number of non-air blocks that were cleared
+     */
+    public static int clear(CraterJob job) {
+        while (job.step()) {
+            // Run every work unit back to back
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[CRATER] Cleared {} blocks in {} chunks ({} sections visited, {} from plans, {} empty sections skipped, {} block entities, {} drops, {} items discarded, {} shell updates, {} fluids frozen, {} blocks settled, {} ms lighting)",
+                    job.getBlocksCleared(),
+                    job.getChunksTouched(),
+                    job.getSectionsVisited(),
+                    job.getSectionsPlanned(),
+                    job.getSectionsSkipped(),
+                    job.getBlockEntitiesRemoved(),
+                    job.getDropsSpawned(),
+                    job.getItemsDiscarded(),
+                    job.getShellUpdates(),
+                    job.getFluidsFrozen(),
+                    job.getBlocksSettled(),
+                    job.getLightingNanos() / 1_000_000.0);
+        }
+        return job.getBlocksCleared();
+    }
+
+    /**
+     * Writes AIR into every masked, non-air cell of one section and records which columns changed.
+     * Each Y level looks up its mask layer once and then walks the row spans of that layer. Cells
+     * already cleared by an overlapping crater of the same job are air by now and are skipped.
+     *
+     * @param crater The index of {@code origin} within its job, which selects its column limits
+     */
+    static int clearSection(
+            ServerWorld world,
+            WorldChunk chunk,
+            int index,
+            BlockPos origin,
+            int crater,
+            CraterMask mask,
+            ChunkColumns columns) {
+        ChunkSection section = chunk.getSectionArray()[index];
+        int sectionY = chunk.sectionIndexToCoord(index);
+        int baseX = chunk.getPos().getStartX();
+        int baseY = ChunkSectionPos.getBlockCoord(sectionY);
+        int baseZ = chunk.getPos().getStartZ();
+        int originX = origin.getX();
+        int originZ = origin.getZ();
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int cleared = 0;
+        for (int localY = 0; localY < 16; localY++) {
+            int y = baseY + localY;
+            CraterMask.Layer layer = mask.layerAt(y - origin.getY());
+            if (layer == null) {
+                continue;
+            }
+
+            int fromX = Math.max(originX - layer.radius(), baseX);
+            int toX = Math.min(originX + layer.radius(), baseX + 15);
+            for (int x = fromX; x <= toX; x++) {
+                int halfWidth = layer.halfWidth(x - originX);
+                int fromZ = Math.max(originZ - halfWidth, baseZ);
+                int toZ = Math.min(originZ + halfWidth, baseZ + 15);
+                int localX = x & 15;
+                for (int z = fromZ; z <= toZ; z++) {
+                    int localZ = z & 15;
+                    if (!columns.allows(crater, localX, localZ, y)) {
+                        continue;
+                    }
+                    BlockState previous = section.getBlockState(localX, localY, localZ);
+                    if (previous.isAir()) {
+                        continue;
+                    }
+                    section.setBlockState(localX, localY, localZ, AIR, false);
+                    pos.set(x, y, z);
+                    onCleared(world, pos, previous, columns);
+                    columns.record(localX, localZ, pos, previous.getLuminance() > 0);
+                    cleared++;
+                }
+            }
+        }
+
+        if (cleared > 0) {
+            columns.sections.set(index);
+        }
+        return cleared;
+    }
+
+    /**
+     * Clears the cells of one section that a {@link CraterPlan} found, instead of walking the mask.
+     * Cells are still read back from the live section, so anything that became air since the plan
+     * was made is skipped, and the live column limits still apply.
+     */
+    static int applyPlan(
+            ServerWorld world,
+            WorldChunk chunk,
+            int index,
+            short[] cells,
+            int crater,
+            ChunkColumns columns) {
+        ChunkSection section = chunk.getSectionArray()[index];
+        int baseX = chunk.getPos().getStartX();
+        int baseY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(index));
+        int baseZ = chunk.getPos().getStartZ();
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int cleared = 0;
+        for (short cell : cells) {
+            int localX = cell & 15;
+            int localZ = cell >> 4 & 15;
+            int localY = cell >> 8 & 15;
+            int y = baseY + localY;
+            if (!columns.allows(crater, localX, localZ, y)) {
+                continue;
+            }
+            BlockState previous = section.getBlockState(localX, localY, localZ);
+            if (previous.isAir()) {
+                continue;
+            }
+            section.setBlockState(localX, localY, localZ, AIR, false);
+            pos.set(baseX + localX, y, baseZ + localZ);
+            onCleared(world, pos, previous, columns);
+            columns.record(localX, localZ, pos, previous.getLuminance() > 0);
+            cleared++;
+        }
+
+        if (cleared > 0) {
+            columns.sections.set(index);
+        }
+        return cleared;
+    }
+
+    /**
+     * Runs the per-block side effects that {@code WorldChunk#setBlockState} would have handled and
+     * that cannot be batched: point-of-interest bookkeeping. Block entities are only noted here and
+     * torn down together by {@link #removeBlockEntities}, and clients are told by {@link #finishChunk}.
+     */
+    private static void onCleared(ServerWorld world, BlockPos pos, BlockState previous, ChunkColumns columns) {
+        if (previous.hasBlockEntity()) {
+            columns.blockEntities.add(new ClearedBlockEntity(pos.toImmutable(), previous));
+        }
+        if (PointOfInterestTypes.isPointOfInterest(previous)) {
+            world.onBlockChanged(pos, previous, AIR);
+        }
+    }
+
+    /**
+     * Tears down every block entity a chunk's sections lost, in one batch once the chunk has been
+     * cleared. Container contents are emptied into {@code drops} first, so the blocks' own
+     * teardown has nothing left to scatter as individual item entities.
+     *
+     * @return The number of block entities removed
+     */
+    static int removeBlockEntities(ServerWorld world, WorldChunk chunk, ChunkColumns columns, CraterDrops drops) {
+        for (ClearedBlockEntity cleared : columns.blockEntities) {
+            if (chunk.getBlockEntity(cleared.pos()) instanceof Inventory inventory) {
+                for (int slot = 0; slot < inventory.size(); slot++) {
+                    drops.add(inventory.removeStack(slot));
+                }
+            }
+            cleared.state().onStateReplaced(world, cleared.pos(), AIR, false);
+            chunk.removeBlockEntity(cleared.pos());
+        }
+        int removed = columns.blockEntities.size();
+        columns.blockEntities.clear();
+        return removed;
+    }
+
+    /**
+     * Single pass over a chunk once all of its sections have been cleared: heightmaps, save flag
+     * and one full chunk packet to every player tracking the chunk.
+     */
+    static void finishChunk(ServerWorld world, WorldChunk chunk) {
+        Heightmap.populateHeightmaps(chunk, ChunkStatus.FULL.getHeightmapTypes());
+        chunk.setNeedsSaving(true);
+
+        Collection<ServerPlayerEntity> players = PlayerLookup.tracking(world, chunk.getPos());
+        if (!players.isEmpty()) {
+            ChunkDataS2CPacket packet =
+                    new ChunkDataS2CPacket(chunk, world.getChunkManager().getLightingProvider(), null, null);
+            for (ServerPlayerEntity player : players) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+    }
+
+    /**
+     * Single light pass over a cleared chunk: refreshes the sky light surface, flags sections that
+     * became empty, and queues one light check at the bottom and top of every changed column
+     * instead of one per block. Removed light sources get their own check.
+     */
+    static void relightChunk(ServerWorld world, WorldChunk chunk, ChunkColumns columns) {
+        chunk.getChunkSkyLight().refreshSurfaceY(chunk);
+
+        LightingProvider lighting = world.getChunkManager().getLightingProvider();
+        ChunkSection[] sections = chunk.getSectionArray();
+        BitSet touched = columns.sections;
+        for (int index = touched.nextSetBit(0); index >= 0; index = touched.nextSetBit(index + 1)) {
+            if (sections[index].isEmpty()) {
+                lighting.setSectionStatus(
+                        ChunkSectionPos.from(chunk.getPos(), chunk.sectionIndexToCoord(index)), true);
+            }
+        }
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+        for (int column = 0; column < 256; column++) {
+            if (columns.lowest[column] == Integer.MAX_VALUE) {
+                continue;
+            }
+            int x = startX + (column & 15);
+            int z = startZ + (column >> 4);
+            lighting.checkBlock(pos.set(x, columns.lowest[column], z));
+            lighting.checkBlock(pos.set(x, columns.highest[column], z));
+        }
+        for (int i = 0; i < columns.emitterCount; i++) {
+            lighting.checkBlock(pos.set(columns.emitters[i]));
+        }
+    }
+
+    /**
+     * Per-chunk column data: the Y range each column may be cleared in for each crater of the job,
+     * the vertical extent that was actually cleared, the sections that changed, and any removed
+     * light sources that need their own light check, and the block entities waiting to be torn
+     * down. Cleared positions are also passed on to the
+     * job's {@link CraterShell}, if it has one.
+     */
+    static final class ChunkColumns {
+        final int[] minY;
+        final int[] maxY;
+        final BitSet reaching = new BitSet();
+        final int[] lowest = new int[256];
+        final int[] highest = new int[256];
+        final BitSet sections = new BitSet();
+        final List<ClearedBlockEntity> blockEntities = new ArrayList<>();
+        final CraterShell shell;
+        long[] emitters = new long[8];
+        int emitterCount;
+        boolean touched;
+
+        ChunkColumns(CraterShell shell, int craters) {
+            this.shell = shell;
+            this.minY = new int[craters << 8];
+            this.maxY = new int[craters << 8];
+            Arrays.fill(minY, Integer.MAX_VALUE);
+            Arrays.fill(maxY, Integer.MIN_VALUE);
+            Arrays.fill(lowest, Integer.MAX_VALUE);
+            Arrays.fill(highest, Integer.MIN_VALUE);
+        }
+
+        void limit(int crater, int localX, int localZ, int columnMinY, int columnMaxY) {
+            int column = crater << 8 | localZ << 4 | localX;
+            minY[column] = columnMinY;
+            maxY[column] = columnMaxY;
+            reaching.set(crater);
+        }
+
+        boolean allows(int crater, int localX, int localZ, int y) {
+            int column = crater << 8 | localZ << 4 | localX;
+            return y >= minY[column] && y <= maxY[column];
+        }
+
+        void record(int localX, int localZ, BlockPos pos, boolean emitter) {
+            int column = localZ << 4 | localX;
+            int y = pos.getY();
+            if (y < lowest[column]) {
+                lowest[column] = y;
+            }
+            if (y > highest[column]) {
+                highest[column] = y;
+            }
+            if (emitter) {
+                if (emitterCount == emitters.length) {
+                    emitters = Arrays.copyOf(emitters, emitterCount * 2);
+                }
+                emitters[emitterCount++] = pos.asLong();
+            }
+            if (shell != null) {
+                shell.record(pos.getX(), y, pos.getZ());
+            }
+            touched = true;
+        }
+    }
+
+    private record ClearedBlockEntity(BlockPos pos, BlockState state) {
+    }
+}
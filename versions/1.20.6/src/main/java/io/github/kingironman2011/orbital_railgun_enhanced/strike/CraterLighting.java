@@ -0,0 +1,16 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * When the light engine is told about a crater's cleared blocks.
+ */
+public enum CraterLighting {
+    /**
+     * Each chunk is relit as soon as its last section has been cleared.
+     */
+    PER_CHUNK,
+    /**
+     * Touched sections are only recorded while clearing. Once the whole crater is cleared, every
+     * touched chunk gets one relight pass, one chunk per work unit.
+     */
+    BATCHED
+}
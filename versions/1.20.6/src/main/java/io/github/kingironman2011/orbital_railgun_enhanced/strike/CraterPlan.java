@@ -0,0 +1,56 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The cells of a crater that held a block when its sections were snapshotted, worked out off the
+ * server thread by {@link CraterPlanner}. Each planned section maps to its cells packed as
+ * {@code y << 8 | z << 4 | x}; a section planned as empty maps to an empty array.
+ *
+ * <p>A block change in a planned section after the snapshot makes that section stale, and stale or
+ * unplanned sections are cleared the usual way at impact. Only used from the thread ticking the
+ * plan's world, apart from the planning itself.
+ */
+public final class CraterPlan {
+    private final LongSet chunks;
+    private final CompletableFuture<Long2ObjectMap<short[]>> sections;
+    private final LongSet stale = new LongOpenHashSet();
+
+    CraterPlan(LongSet chunks, CompletableFuture<Long2ObjectMap<short[]>> sections) {
+        this.chunks = chunks;
+        this.sections = sections;
+    }
+
+    /**
+     * Marks the section holding {@code pos} as changed since the snapshot.
+     */
+    public void invalidate(BlockPos pos) {
+        if (chunks.contains(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4))) {
+            stale.add(ChunkSectionPos.fromBlockPos(pos.asLong()));
+        }
+    }
+
+    /**
+     * @return Whether planning has finished, successfully or not
+     */
+    public boolean isDone() {
+        return sections.isDone();
+    }
+
+    /**
+     * @return The planned cells of a section, or null if the section has no usable plan
+     */
+    short[] cells(long sectionPos) {
+        if (!sections.isDone() || sections.isCompletedExceptionally() || stale.contains(sectionPos)) {
+            return null;
+        }
+        return sections.join().get(sectionPos);
+    }
+}
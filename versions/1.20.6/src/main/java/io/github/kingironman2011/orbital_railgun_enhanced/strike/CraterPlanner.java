@@ -0,0 +1,171 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plans a crater ahead of its impact. Copying the block palettes of the crater's sections and the
+ * column limits is the only work done on the server thread; finding the cells to clear in those
+ * copies runs on the common {@link ForkJoinPool}, one task per chunk, while the strike counts
+ * down. Chunks that are not loaded when the plan is made are simply left out of it.
+ */
+public final class CraterPlanner {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+
+    private CraterPlanner() {
+    }
+
+    public static CraterPlan plan(ServerWorld world, BlockPos origin, CraterMask mask, CraterBounds bounds) {
+        long start = System.nanoTime();
+        int minY = bounds.minY(world, origin.getY(), mask);
+        int maxY = bounds.maxY(world, origin.getY());
+
+        LongOpenHashSet chunks = new LongOpenHashSet();
+        List<ChunkSnapshot> snapshots = new ArrayList<>();
+        for (long chunkPos : mask.footprint(origin)) {
+            WorldChunk chunk = world.getChunkManager()
+                    .getWorldChunk(ChunkPos.getPackedX(chunkPos), ChunkPos.getPackedZ(chunkPos));
+            if (chunk != null) {
+                chunks.add(chunkPos);
+                snapshots.add(snapshot(chunk, bounds, minY, maxY));
+            }
+        }
+
+        BlockPos target = origin.toImmutable();
+        CompletableFuture<Long2ObjectMap<short[]>> sections = CompletableFuture.supplyAsync(
+                () -> {
+                    Long2ObjectMap<short[]> planned = new Long2ObjectOpenHashMap<>();
+                    snapshots.parallelStream()
+                            .map(snapshot -> planChunk(snapshot, target, mask))
+                            .forEachOrdered(planned::putAll);
+                    return planned;
+                },
+                ForkJoinPool.commonPool());
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[CRATER] Snapshotted {} chunks around {} for planning ({} ms)",
+                    snapshots.size(),
+                    target,
+                    (System.nanoTime() - start) / 1_000_000.0);
+        }
+        return new CraterPlan(chunks, sections);
+    }
+
+    /**
+     * Copies the column limits and the block palettes of the sections the crater can reach. Empty
+     * sections are not copied.
+     */
+    @SuppressWarnings("unchecked")
+    private static ChunkSnapshot snapshot(WorldChunk chunk, CraterBounds bounds, int minY, int maxY) {
+        int[] columnMin = new int[256];
+        int[] columnMax = new int[256];
+        int lowest = Integer.MAX_VALUE;
+        int highest = Integer.MIN_VALUE;
+        for (int column = 0; column < 256; column++) {
+            int surfaceY = chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, column & 15, column >> 4);
+            columnMin[column] = bounds.columnMinY(surfaceY, minY);
+            columnMax[column] = Math.min(maxY, surfaceY);
+            if (columnMin[column] <= columnMax[column]) {
+                lowest = Math.min(lowest, columnMin[column]);
+                highest = Math.max(highest, columnMax[column]);
+            }
+        }
+
+        if (lowest > highest) {
+            return new ChunkSnapshot(chunk.getPos(), columnMin, columnMax, 0, new PalettedContainer[0]);
+        }
+        int bottomSectionY = ChunkSectionPos.getSectionCoord(lowest);
+        int topSectionY = ChunkSectionPos.getSectionCoord(highest);
+        PalettedContainer<BlockState>[] sections = new PalettedContainer[topSectionY - bottomSectionY + 1];
+        for (int sectionY = bottomSectionY; sectionY <= topSectionY; sectionY++) {
+            ChunkSection section = chunk.getSectionArray()[chunk.sectionCoordToIndex(sectionY)];
+            if (!section.isEmpty()) {
+                sections[sectionY - bottomSectionY] = section.getBlockStateContainer().copy();
+            }
+        }
+        return new ChunkSnapshot(chunk.getPos(), columnMin, columnMax, bottomSectionY, sections);
+    }
+
+    /**
+     * Walks the mask spans of every snapshotted section, like {@link CraterEngine#clearSection},
+     * and keeps the cells that held a block.
+     */
+    private static Long2ObjectMap<short[]> planChunk(ChunkSnapshot snapshot, BlockPos origin, CraterMask mask) {
+        Long2ObjectMap<short[]> planned = new Long2ObjectOpenHashMap<>();
+        int baseX = snapshot.pos().getStartX();
+        int baseZ = snapshot.pos().getStartZ();
+        int originX = origin.getX();
+        int originZ = origin.getZ();
+        ShortArrayList cells = new ShortArrayList();
+
+        for (int i = 0; i < snapshot.sections().length; i++) {
+            int sectionY = snapshot.bottomSectionY() + i;
+            long sectionPos = ChunkSectionPos.asLong(snapshot.pos().x, sectionY, snapshot.pos().z);
+            PalettedContainer<BlockState> section = snapshot.sections()[i];
+            if (section == null) {
+                planned.put(sectionPos, new short[0]);
+                continue;
+            }
+
+            int baseY = ChunkSectionPos.getBlockCoord(sectionY);
+            for (int localY = 0; localY < 16; localY++) {
+                int y = baseY + localY;
+                CraterMask.Layer layer = mask.layerAt(y - origin.getY());
+                if (layer == null) {
+                    continue;
+                }
+
+                int fromX = Math.max(originX - layer.radius(), baseX);
+                int toX = Math.min(originX + layer.radius(), baseX + 15);
+                for (int x = fromX; x <= toX; x++) {
+                    int halfWidth = layer.halfWidth(x - originX);
+                    int fromZ = Math.max(originZ - halfWidth, baseZ);
+                    int toZ = Math.min(originZ + halfWidth, baseZ + 15);
+                    int localX = x & 15;
+                    for (int z = fromZ; z <= toZ; z++) {
+                        int localZ = z & 15;
+                        int column = localZ << 4 | localX;
+                        if (y < snapshot.columnMin()[column] || y > snapshot.columnMax()[column]) {
+                            continue;
+                        }
+                        if (!section.get(localX, localY, localZ).isAir()) {
+                            cells.add((short) (localY << 8 | column));
+                        }
+                    }
+                }
+            }
+            planned.put(sectionPos, cells.toShortArray());
+            cells.clear();
+        }
+        return planned;
+    }
+
+    private record ChunkSnapshot(
+            ChunkPos pos,
+            int[] columnMin,
+            int[] columnMax,
+            int bottomSectionY,
+            PalettedContainer<BlockState>[] sections) {
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * How strike damage drops off with distance from the impact point, as a factor from 1 at the
+ * center to 0 at the edge of the damage radius.
+ */
+public enum DamageFalloff {
+    /**
+     * Full damage everywhere in the radius.
+     */
+    NONE,
+    /**
+     * Drops linearly with distance.
+     */
+    LINEAR,
+    /**
+     * Drops with the square of the distance, so it stays high near the center and falls off
+     * towards the edge.
+     */
+    QUADRATIC;
+
+    /**
+     * @param distanceSquared The squared distance from the impact point
+     * @param radiusSquared   The squared damage radius
+     * @return The factor to scale damage by, between 0 and 1
+     */
+    public double scale(double distanceSquared, double radiusSquared) {
+        if (this == NONE || radiusSquared <= 0) {
+            return 1.0;
+        }
+        double fraction = Math.min(distanceSquared / radiusSquared, 1.0);
+        return switch (this) {
+            case LINEAR -> 1.0 - Math.sqrt(fraction);
+            case QUADRATIC -> 1.0 - fraction;
+            default -> 1.0;
+        };
+    }
+}
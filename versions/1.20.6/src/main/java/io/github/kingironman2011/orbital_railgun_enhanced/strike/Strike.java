@@ -0,0 +1,149 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A strike that has been fired and not landed yet: where it will hit, in which dimension, and the
+ * {@link StrikeProfile} it was fired with. The entities it affects are looked up from the world at
+ * each phase instead of being captured when the strike is fired.
+ *
+ * <p>A strike charges up, then pulls nearby entities in, then lands. Each strike has an id that
+ * stays the same for its whole life, which is also what it hashes on.
+ */
+public final class Strike {
+    /**
+     * Default phase timings, used when a profile does not set its own.
+     */
+    public static final int PULL_START_TICKS = 400;
+    public static final int IMPACT_TICKS = 700;
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id;
+    private final BlockPos target;
+    private final Vec3d center;
+    private final RegistryKey<World> dimension;
+    private final StrikeProfile profile;
+    private final Box pullBox;
+    private final long firedTick;
+    private final CraterTicket ticket;
+    private Phase phase = Phase.CHARGING;
+    private CraterPlan plan;
+
+    public Strike(
+            BlockPos target,
+            RegistryKey<World> dimension,
+            StrikeProfile profile,
+            long firedTick,
+            CraterTicket ticket) {
+        this.id = NEXT_ID.incrementAndGet();
+        this.target = target.toImmutable();
+        this.center = target.toCenterPos();
+        this.dimension = dimension;
+        this.profile = profile;
+        double pullRadius = profile.pullRadius();
+        this.pullBox = Box.of(center, pullRadius * 2, pullRadius * 2, pullRadius * 2);
+        this.firedTick = firedTick;
+        this.ticket = ticket;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public BlockPos getTarget() {
+        return target;
+    }
+
+    /**
+     * @return The center of the target block, which entities are pulled towards
+     */
+    public Vec3d getCenter() {
+        return center;
+    }
+
+    public RegistryKey<World> getDimension() {
+        return dimension;
+    }
+
+    public StrikeProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return The box around the center that contains the whole pull radius
+     */
+    public Box getPullBox() {
+        return pullBox;
+    }
+
+    /**
+     * @return The world time at which the strike was fired
+     */
+    public long getFiredTick() {
+        return firedTick;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Moves the strike from charging to pulling.
+     */
+    public void startPull() {
+        phase = Phase.PULLING;
+    }
+
+    /**
+     * @return The world time at which the strike leaves its current phase
+     */
+    public long getNextPhaseTick() {
+        return firedTick + (phase == Phase.CHARGING ? profile.pullStartTicks() : profile.impactTicks());
+    }
+
+    /**
+     * @return How many ticks ago the strike was fired
+     */
+    public int getAge(long currentTick) {
+        return (int) (currentTick - firedTick);
+    }
+
+    /**
+     * @return The chunk tickets keeping the crater loaded, or null if none were taken
+     */
+    public CraterTicket getTicket() {
+        return ticket;
+    }
+
+    /**
+     * @return The crater plan made when the pull started, or null if there is none
+     */
+    public CraterPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(CraterPlan plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Strike other && other.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    public enum Phase {
+        CHARGING,
+        PULLING
+    }
+}
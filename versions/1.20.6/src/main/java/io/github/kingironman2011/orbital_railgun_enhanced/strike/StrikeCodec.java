@@ -0,0 +1,140 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact binary encoding of the pending strikes of a world, stored as a single byte array in the
+ * world's saved data. Each strike takes its packed target position, its fired tick as a varint
+ * offset from the earliest fired tick, and the index of its profile id in a table written once, so
+ * a strike costs about 11 bytes.
+ *
+ * <p>Layout: version byte, varint count, then varint profile count and the profile ids, varlong
+ * base tick, and per strike a long target, a varint tick offset and a varint profile index.
+ * Version 1 data, which stored a float pull radius instead of a profile, is still read; its strikes
+ * get a blank profile.
+ */
+public final class StrikeCodec {
+    private static final int VERSION = 2;
+
+    private StrikeCodec() {
+    }
+
+    public static byte[] encode(Collection<SavedStrike> strikes) {
+        long base = Long.MAX_VALUE;
+        for (SavedStrike strike : strikes) {
+            base = Math.min(base, strike.firedTick());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + strikes.size() * 12);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeVarLong(out, strikes.size());
+            if (strikes.isEmpty()) {
+                return bytes.toByteArray();
+            }
+            List<String> profiles = new ArrayList<>();
+            for (SavedStrike strike : strikes) {
+                if (!profiles.contains(strike.profile())) {
+                    profiles.add(strike.profile());
+                }
+            }
+            writeVarLong(out, profiles.size());
+            for (String profile : profiles) {
+                out.writeUTF(profile);
+            }
+
+            writeVarLong(out, base);
+            for (SavedStrike strike : strikes) {
+                out.writeLong(strike.target());
+                writeVarLong(out, strike.firedTick() - base);
+                writeVarLong(out, profiles.indexOf(strike.profile()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException If the data is truncated or from an unknown version
+     */
+    public static List<SavedStrike> decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION && version != 1) {
+                throw new IllegalArgumentException("Unknown strike data version: " + version);
+            }
+            long count = readVarLong(in);
+            if (count > data.length) {
+                throw new IllegalArgumentException("Strike count out of range: " + count);
+            }
+            List<SavedStrike> strikes = new ArrayList<>((int) count);
+            if (count == 0) {
+                return strikes;
+            }
+            String[] profiles = new String[0];
+            if (version != 1) {
+                long profileCount = readVarLong(in);
+                if (profileCount > count) {
+                    throw new IllegalArgumentException("Profile count out of range: " + profileCount);
+                }
+                profiles = new String[(int) profileCount];
+                for (int i = 0; i < profiles.length; i++) {
+                    profiles[i] = in.readUTF();
+                }
+            }
+
+            long base = readVarLong(in);
+            for (long i = 0; i < count; i++) {
+                long target = in.readLong();
+                long firedTick = base + readVarLong(in);
+                String profile;
+                if (version == 1) {
+                    in.readFloat();
+                    profile = "";
+                } else {
+                    long index = readVarLong(in);
+                    if (index >= profiles.length) {
+                        throw new IllegalArgumentException("Profile index out of range: " + index);
+                    }
+                    profile = profiles[(int) index];
+                }
+                strikes.add(new SavedStrike(target, firedTick, profile));
+            }
+            return strikes;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed strike data", e);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long");
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.kingironman2011.orbital_railgun_enhanced.OrbitalRailgun;
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.entity.damage.DamageType;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.DamageTypeTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deals a strike's impact damage. Targets inside the crater radius are collected in one pass that
+ * skips spectators, dead entities, anything immune to the damage type and players with invulnerable
+ * abilities (creative mode), whom the damage would not hurt anyway. The rest are hit nearest first
+ * with the configured {@link DamageFalloff}. Once the falloff has brought the damage below
+ * {@link #MIN_DAMAGE} every target further out is skipped.
+ *
+ * <p>The damage source is built once and reused until the registries it was resolved from are
+ * replaced, which only happens when the server reloads them.
+ */
+public final class StrikeDamage {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+    private static final RegistryKey<DamageType> STRIKE_DAMAGE =
+            RegistryKey.of(RegistryKeys.DAMAGE_TYPE, Identifier.of(OrbitalRailgun.MOD_ID, "strike"));
+    /**
+     * Damage below this is not dealt.
+     */
+    public static final float MIN_DAMAGE = 0.5f;
+
+    private static DynamicRegistryManager cachedRegistries;
+    private static DamageSource cachedSource;
+
+    private StrikeDamage() {
+    }
+
+    /**
+     * Damages the entities around a landing strike.
+     *
+     * @return How many entities were hit
+     */
+    public static int apply(ServerWorld world, Strike strike) {
+        long start = System.nanoTime();
+        DamageSource source = sourceFor(world);
+        StrikeProfile profile = strike.getProfile();
+        Vec3d center = strike.getCenter();
+        double radius = profile.mask().getRadius();
+        double radiusSquared = radius * radius;
+
+        List<Target> targets = new ArrayList<>();
+        for (Entity entity : world.getOtherEntities(null, Box.of(center, radius * 2, radius * 2, radius * 2))) {
+            if (entity.isSpectator() || !entity.isAlive() || entity.isInvulnerableTo(source)) {
+                continue;
+            }
+            if (entity instanceof PlayerEntity player
+                    && player.getAbilities().invulnerable
+                    && !source.isIn(DamageTypeTags.BYPASSES_INVULNERABILITY)) {
+                continue;
+            }
+            double distanceSquared = entity.getPos().squaredDistanceTo(center);
+            if (distanceSquared <= radiusSquared) {
+                targets.add(new Target(entity, distanceSquared));
+            }
+        }
+        targets.sort(Comparator.comparingDouble(Target::distanceSquared));
+
+        DamageFalloff falloff = ServerConfig.INSTANCE.getDamageFalloff();
+        int hit = 0;
+        for (Target target : targets) {
+            float damage = (float) (profile.damage() * falloff.scale(target.distanceSquared(), radiusSquared));
+            if (damage < MIN_DAMAGE) {
+                break;
+            }
+            target.entity().damage(source, damage);
+            hit++;
+            if (ServerConfig.INSTANCE.isDebugMode()) {
+                LOGGER.debug("[STRIKE] Damaged entity {} for {} damage", target.entity().getName().getString(), damage);
+            }
+        }
+
+        if (ServerConfig.INSTANCE.isDebugMode()) {
+            LOGGER.debug(
+                    "[STRIKE] Damaged {} of {} entities at {} ({} ms)",
+                    hit,
+                    targets.size(),
+                    strike.getTarget(),
+                    (System.nanoTime() - start) / 1_000_000.0);
+        }
+        return hit;
+    }
+
+    /**
+     * @return The strike damage source, resolved again only if the world's registries have changed
+     */
+    private static synchronized DamageSource sourceFor(ServerWorld world) {
+        DynamicRegistryManager registries = world.getRegistryManager();
+        if (registries != cachedRegistries) {
+            cachedSource = new DamageSource(registries.get(RegistryKeys.DAMAGE_TYPE).getEntry(STRIKE_DAMAGE).get());
+            cachedRegistries = registries;
+        }
+        return cachedSource;
+    }
+
+    private record Target(Entity entity, double distanceSquared) {
+    }
+}
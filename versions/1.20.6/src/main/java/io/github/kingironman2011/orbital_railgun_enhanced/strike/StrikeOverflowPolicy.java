@@ -0,0 +1,16 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+/**
+ * What happens to a strike fired while every strike slot is taken.
+ */
+public enum StrikeOverflowPolicy {
+    /**
+     * The strike waits in a bounded queue and launches as soon as a slot frees up. Strikes fired
+     * while the queue is full are rejected.
+     */
+    QUEUE,
+    /**
+     * The strike is rejected straight away.
+     */
+    REJECT
+}
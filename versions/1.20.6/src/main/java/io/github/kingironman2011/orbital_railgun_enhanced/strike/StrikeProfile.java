@@ -0,0 +1,96 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import io.github.kingironman2011.orbital_railgun_enhanced.OrbitalRailgun;
+import io.github.kingironman2011.orbital_railgun_enhanced.config.ServerConfig;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+
+import java.util.Locale;
+
+/**
+ * A compiled strike variant: its phase timings, pull, damage and crater. Profiles are read from
+ * datapacks by {@link StrikeProfiles} and compiled once per reload, crater mask included, so a
+ * strike only ever reads these fields.
+ *
+ * @param id             The profile id, or {@link #CONFIG_ID} for the one built from the server config
+ * @param pullStartTicks Ticks from firing until entities start being pulled in
+ * @param impactTicks    Ticks from firing until the strike lands
+ * @param pullRadius     How far the pull reaches
+ * @param pullStrength   The most velocity the pull adds to an entity per tick
+ * @param damage         Damage dealt to every entity inside the crater radius
+ * @param mask           The crater mask, which also holds the crater shape and radius
+ */
+public record StrikeProfile(
+        Identifier id,
+        int pullStartTicks,
+        int impactTicks,
+        double pullRadius,
+        double pullStrength,
+        float damage,
+        CraterMask mask) {
+    public static final Identifier CONFIG_ID = Identifier.of(OrbitalRailgun.MOD_ID, "config");
+
+    /**
+     * @return The profile described by the server config, with the default timings
+     */
+    public static StrikeProfile fromConfig() {
+        ServerConfig config = ServerConfig.INSTANCE;
+        return new StrikeProfile(
+                CONFIG_ID,
+                Strike.PULL_START_TICKS,
+                Strike.IMPACT_TICKS,
+                config.getPullRadius(),
+                PullKernel.MAX_STRENGTH,
+                config.getStrikeDamage(),
+                CraterMask.get(config.getCraterShape(), config.getCraterRadius()));
+    }
+
+    /**
+     * Compiles a profile from its datapack JSON. Fields that are left out take their default value.
+     *
+     * @throws JsonParseException If a field is invalid
+     */
+    public static StrikeProfile parse(Identifier id, JsonObject json) {
+        int pullStartTicks = JsonHelper.getInt(json, "pull_start_ticks", Strike.PULL_START_TICKS);
+        int impactTicks = JsonHelper.getInt(json, "impact_ticks", Strike.IMPACT_TICKS);
+        double pullRadius = JsonHelper.getDouble(json, "pull_radius", 64.0);
+        double pullStrength = JsonHelper.getDouble(json, "pull_strength", PullKernel.MAX_STRENGTH);
+        float damage = JsonHelper.getFloat(json, "damage", 20.0f);
+        int craterRadius = JsonHelper.getInt(json, "crater_radius", 24);
+        String shape = JsonHelper.getString(json, "crater_shape", CraterShape.DISK.name());
+
+        if (pullStartTicks < 0 || impactTicks <= pullStartTicks) {
+            throw new JsonParseException("impact_ticks must be after pull_start_ticks, which must not be negative");
+        }
+        if (pullRadius < 0 || pullStrength < 0 || damage < 0) {
+            throw new JsonParseException("pull_radius, pull_strength and damage must not be negative");
+        }
+        if (craterRadius < 1 || craterRadius > 128) {
+            throw new JsonParseException("crater_radius must be between 1 and 128, got " + craterRadius);
+        }
+        CraterShape craterShape;
+        try {
+            craterShape = CraterShape.valueOf(shape.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Unknown crater_shape: " + shape);
+        }
+
+        return new StrikeProfile(
+                id,
+                pullStartTicks,
+                impactTicks,
+                pullRadius,
+                pullStrength,
+                damage,
+                CraterMask.get(craterShape, craterRadius));
+    }
+
+    /**
+     * @return How many ticks the pull phase lasts
+     */
+    public int pullTicks() {
+        return impactTicks - pullStartTicks;
+    }
+}
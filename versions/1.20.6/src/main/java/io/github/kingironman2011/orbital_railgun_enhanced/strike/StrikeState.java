@@ -0,0 +1,73 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.PersistentState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pending strikes of a world as saved data, so strikes survive a restart or crash. The data is
+ * only marked dirty when a strike is added or lands, so autosaves skip it entirely while the set of
+ * strikes is unchanged, and when it is written it is one small byte array (see
+ * {@link StrikeCodec}).
+ */
+public final class StrikeState extends PersistentState {
+    private static final Logger LOGGER = LoggerFactory.getLogger("OrbitalRailgunEnhanced");
+    private static final String ID = "orbital_railgun_enhanced_strikes";
+    private static final String STRIKES_KEY = "Strikes";
+    private static final Type<StrikeState> TYPE = new Type<>(StrikeState::new, StrikeState::fromNbt, null);
+
+    private final Map<Long, SavedStrike> strikes = new LinkedHashMap<>();
+    private List<SavedStrike> restored = new ArrayList<>();
+
+    public static StrikeState get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(TYPE, ID);
+    }
+
+    private static StrikeState fromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
+        StrikeState state = new StrikeState();
+        if (!nbt.contains(STRIKES_KEY)) {
+            return state;
+        }
+        try {
+            state.restored = StrikeCodec.decode(nbt.getByteArray(STRIKES_KEY));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("[STRIKE] Discarding unreadable saved strikes", e);
+        }
+        return state;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
+        nbt.putByteArray(STRIKES_KEY, StrikeCodec.encode(strikes.values()));
+        return nbt;
+    }
+
+    public void add(Strike strike) {
+        strikes.put(strike.getId(), SavedStrike.of(strike));
+        markDirty();
+    }
+
+    public void remove(Strike strike) {
+        if (strikes.remove(strike.getId()) != null) {
+            markDirty();
+        }
+    }
+
+    /**
+     * Hands out the strikes read from disk, once. They are saved again as they are registered.
+     */
+    public List<SavedStrike> takeRestored() {
+        List<SavedStrike> taken = restored;
+        restored = new ArrayList<>();
+        return taken;
+    }
+}
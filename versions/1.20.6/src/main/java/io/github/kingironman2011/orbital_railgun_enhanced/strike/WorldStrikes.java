@@ -0,0 +1,136 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The strikes of a single world: their phase schedule, which of them are pulling, and the craters
+ * still being cleared. Ticks are the world's own time, so a world only ever looks at its own
+ * strikes and nothing has to be filtered by dimension.
+ *
+ * <p>Not thread safe. Everything in here is only touched while its world is ticking, or from the
+ * server thread between ticks, which keeps it safe when worlds are ticked in parallel.
+ */
+public final class WorldStrikes {
+    private final TimingWheel<Strike> schedule = new TimingWheel<>(256);
+    private final Map<Long, Strike> active = new LinkedHashMap<>();
+    private final Map<Long, Strike> pulling = new LinkedHashMap<>();
+    private final CraterExecutor craters = new CraterExecutor();
+    private final PullKernel pullKernel = new PullKernel();
+    private final List<Entity> pullTargets = new ArrayList<>();
+    private final List<Strike> landing = new ArrayList<>();
+    private final StrikeState state;
+
+    /**
+     * @param state The world's saved strikes, kept in step with the strikes tracked here
+     */
+    public WorldStrikes(StrikeState state) {
+        this.state = state;
+    }
+
+    /**
+     * Starts tracking a strike that has just been fired.
+     */
+    public void add(Strike strike) {
+        active.put(strike.getId(), strike);
+        state.add(strike);
+        schedule.schedule(strike, strike.getNextPhaseTick());
+    }
+
+    /**
+     * Fires every strike whose current phase ends at or before {@code now}.
+     */
+    public void advance(long now, Consumer<Strike> onPhaseEnd) {
+        schedule.advance(now, onPhaseEnd);
+    }
+
+    /**
+     * Moves a charging strike on to its pull phase and schedules its impact.
+     */
+    public void startPull(Strike strike) {
+        strike.startPull();
+        pulling.put(strike.getId(), strike);
+        schedule.schedule(strike, strike.getNextPhaseTick());
+    }
+
+    /**
+     * Marks the section holding {@code pos} as changed in the crater plan of every pulling strike.
+     */
+    public void invalidatePlans(BlockPos pos) {
+        for (Strike strike : pulling.values()) {
+            if (strike.getPlan() != null) {
+                strike.getPlan().invalidate(pos);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a strike that has landed.
+     */
+    public void remove(Strike strike) {
+        pulling.remove(strike.getId());
+        active.remove(strike.getId());
+        state.remove(strike);
+    }
+
+    /**
+     * @return The strikes that have been fired and have not landed yet
+     */
+    public Collection<Strike> getActive() {
+        return Collections.unmodifiableCollection(active.values());
+    }
+
+    /**
+     * @return The strikes currently pulling entities in
+     */
+    public Collection<Strike> getPulling() {
+        return pulling.values();
+    }
+
+    public CraterExecutor getCraters() {
+        return craters;
+    }
+
+    public PullKernel getPullKernel() {
+        return pullKernel;
+    }
+
+    /**
+     * @return A scratch list for collecting pull targets, empty between uses
+     */
+    public List<Entity> getPullTargets() {
+        return pullTargets;
+    }
+
+    /**
+     * @return A scratch list for collecting the strikes landing this tick, empty between uses
+     */
+    public List<Strike> getLanding() {
+        return landing;
+    }
+
+    /**
+     * @return Whether there is nothing left to do in this world
+     */
+    public boolean isIdle() {
+        return active.isEmpty() && craters.getPendingJobs() == 0;
+    }
+
+    /**
+     * Forgets every strike tracked here. The saved strikes are left alone so they can be restored
+     * when the world loads again.
+     */
+    public void clear() {
+        schedule.clear();
+        active.clear();
+        pulling.clear();
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for where crater drops are placed around the rim.
+ */
+class CraterDropsTest {
+
+    @ParameterizedTest
+    @DisplayName("Rim columns should lie outside the crater mask")
+    @ValueSource(ints = {1, 5, 12, 24, 48})
+    void testRimOutsideMask(int radius) {
+        CraterMask.Layer layer = CraterMask.get(CraterShape.DISK, radius).layerAt(0);
+        int[] rim = CraterDrops.rimColumns(27, new int[] {100}, new int[] {-40}, radius);
+
+        for (int i = 0; i < 27; i++) {
+            int dx = rim[i * 2] - 100;
+            int dz = rim[i * 2 + 1] + 40;
+            assertFalse(layer.contains(dx, dz), "Rim column " + dx + ", " + dz + " is inside the crater");
+            assertTrue(dx * dx + dz * dz >= (radius + 1) * (radius + 1), "Rim column too close to the origin");
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Rim columns of a union job should lie outside every crater")
+    @ValueSource(ints = {3, 8, 24})
+    void testRimOutsideUnion(int radius) {
+        CraterMask.Layer layer = CraterMask.get(CraterShape.DISK, radius).layerAt(0);
+        int[] xs = {0, radius, -radius / 2};
+        int[] zs = {0, radius / 2, radius};
+        int[] rim = CraterDrops.rimColumns(16, xs, zs, radius);
+
+        for (int i = 0; i < 16; i++) {
+            for (int crater = 0; crater < xs.length; crater++) {
+                int dx = rim[i * 2] - xs[crater];
+                int dz = rim[i * 2 + 1] - zs[crater];
+                assertFalse(layer.contains(dx, dz),
+                        String.format("Rim column %d is inside crater %d", i, crater));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the pull-phase force kernel, including an allocation check.
+ */
+class PullKernelTest {
+    private static final double EPSILON = 1.0E-9;
+
+    @ParameterizedTest
+    @DisplayName("Kernel should match the original vector math")
+    @CsvSource({
+        "10, 0, 0, 150",
+        "-5, 3, 12, 1",
+        "0, -40, 0, 299",
+        "19.5, 0, 0, 300",
+        "30, 30, 30, 60"
+    })
+    void testMatchesVectorMath(double x, double y, double z, int pullTicks) {
+        PullKernel kernel = new PullKernel();
+        kernel.begin(0.5, 64.5, 0.5, 64.0, pullTicks);
+        assertTrue(kernel.compute(0.5 + x, 64.5 + y, 0.5 + z));
+
+        // Original: dir = center - pos; mag = min(1 / |len - 20| * 4 * t / 300, 5); dir.normalize() * mag
+        double length = Math.sqrt(x * x + y * y + z * z);
+        double magnitude = Math.min(1. / Math.abs(length - 20.) * 4. * pullTicks / 300., 5.);
+        assertEquals(-x / length * magnitude, kernel.getVelocityX(), EPSILON);
+        assertEquals(-y / length * magnitude, kernel.getVelocityY(), EPSILON);
+        assertEquals(-z / length * magnitude, kernel.getVelocityZ(), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Entities outside the pull radius should be skipped")
+    void testOutsideRadius() {
+        PullKernel kernel = new PullKernel();
+        kernel.begin(0, 0, 0, 10.0, 100);
+        assertTrue(kernel.compute(10, 0, 0), "Exactly on the radius should still be pulled");
+        assertFalse(kernel.compute(10.01, 0, 0));
+        assertFalse(kernel.compute(6, 6, 6));
+    }
+
+    @Test
+    @DisplayName("An entity at the center should not be pushed anywhere")
+    void testAtCenter() {
+        PullKernel kernel = new PullKernel();
+        kernel.begin(3, 4, 5, 10.0, 100);
+        assertFalse(kernel.compute(3, 4, 5));
+    }
+
+    @Test
+    @DisplayName("Strength should be capped on the pull ring")
+    void testCappedOnRing() {
+        PullKernel kernel = new PullKernel();
+        kernel.begin(0, 0, 0, 64.0, 300);
+        assertTrue(kernel.compute(PullKernel.RING_RADIUS, 0, 0));
+        assertEquals(-PullKernel.MAX_STRENGTH, kernel.getVelocityX(), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Computing the force should not allocate")
+    void testAllocationFree() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        PullKernel kernel = new PullKernel();
+        int entities = 1_000;
+        int ticks = 300;
+        double sink = run(kernel, entities, ticks);
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        sink += run(kernel, entities, ticks);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sink != 0);
+        // Leave room for the measurement itself, but far less than one byte per entity per tick
+        assertTrue(allocated < 1_024,
+                "Expected no allocation for " + entities * ticks + " entity updates, got " + allocated + " bytes");
+    }
+
+    private static double run(PullKernel kernel, int entities, int ticks) {
+        double sink = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            kernel.begin(0.5, 64.5, 0.5, 64.0, tick);
+            for (int i = 0; i < entities; i++) {
+                double angle = i * 0.1;
+                if (kernel.compute(Math.cos(angle) * (i % 80), 64.0, Math.sin(angle) * (i % 80))) {
+                    sink += kernel.getVelocityX() + kernel.getVelocityY() + kernel.getVelocityZ();
+                }
+            }
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary encoding of saved strikes.
+ */
+class StrikeCodecTest {
+
+    @Test
+    @DisplayName("Strikes should survive a round trip")
+    void testRoundTrip() {
+        List<SavedStrike> strikes = List.of(
+                new SavedStrike(0x12345678ABCDL, 1_000_000L, "orbital_railgun_enhanced:config"),
+                new SavedStrike(-42L, 1_000_350L, "example:light"),
+                new SavedStrike(Long.MIN_VALUE, 999_990L, "orbital_railgun_enhanced:config"));
+
+        assertEquals(strikes, StrikeCodec.decode(StrikeCodec.encode(strikes)));
+    }
+
+    @Test
+    @DisplayName("No strikes should round trip to an empty list")
+    void testEmpty() {
+        byte[] data = StrikeCodec.encode(List.of());
+        assertEquals(2, data.length, "Only the version and count should be written");
+        assertTrue(StrikeCodec.decode(data).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Fired ticks close together should be stored as small offsets")
+    void testCompactTicks() {
+        List<SavedStrike> strikes = List.of(
+                new SavedStrike(1L, 50_000_000_000L, "a:b"),
+                new SavedStrike(2L, 50_000_000_100L, "a:b"));
+
+        byte[] data = StrikeCodec.encode(strikes);
+        // Version, count, one 5-byte profile id and a 6-byte base, then 8 + 1..2 + 1 bytes per strike
+        assertTrue(data.length <= 14 + 2 * 11, "Expected a compact encoding, got " + data.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Version 1 data should still be read, without a profile")
+    void testReadsVersion1() {
+        // Version 1, one strike, base tick 300, target 7, offset 0, pull radius 64
+        byte[] data = {1, 1, (byte) 0xAC, 0x02, 0, 0, 0, 0, 0, 0, 0, 7, 0, 0x42, (byte) 0x80, 0, 0};
+
+        assertEquals(List.of(new SavedStrike(7L, 300L, "")), StrikeCodec.decode(data));
+    }
+
+    @Test
+    @DisplayName("Truncated or unknown data should be rejected")
+    void testMalformed() {
+        byte[] data = StrikeCodec.encode(List.of(new SavedStrike(1L, 10L, "a:b")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> StrikeCodec.decode(Arrays.copyOf(data, data.length - 1)));
+        data[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> StrikeCodec.decode(data));
+        assertThrows(IllegalArgumentException.class, () -> StrikeCodec.decode(new byte[0]));
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.kingironman2011.orbital_railgun_enhanced.strike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the tick-keyed timing wheel used to schedule strike phases.
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Values should fire exactly on their due tick")
+    void testFiresOnDueTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(16);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("a", 5);
+
+        for (long tick = 0; tick < 5; tick++) {
+            wheel.advance(tick, fired::add);
+            assertTrue(fired.isEmpty(), "Nothing should fire before tick 5, fired at " + tick);
+        }
+        wheel.advance(5, fired::add);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Values more than one revolution ahead should wait for their own tick")
+    void testLongDelays() {
+        TimingWheel<String> wheel = new TimingWheel<>(16);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("late", 700);
+        wheel.schedule("early", 400);
+
+        for (long tick = 0; tick < 400; tick++) {
+            wheel.advance(tick, fired::add);
+        }
+        assertTrue(fired.isEmpty());
+        wheel.advance(400, fired::add);
+        assertEquals(List.of("early"), fired);
+
+        for (long tick = 401; tick < 700; tick++) {
+            wheel.advance(tick, fired::add);
+        }
+        assertEquals(1, fired.size(), "Late value should not fire early");
+        wheel.advance(700, fired::add);
+        assertEquals(List.of("early", "late"), fired);
+    }
+
+    @Test
+    @DisplayName("Skipped ticks should still fire everything that became due")
+    void testSkippedTicks() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(8);
+        List<Integer> fired = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, i);
+        }
+
+        wheel.advance(3, fired::add);
+        assertEquals(3, fired.size());
+        wheel.advance(100, fired::add);
+        assertEquals(20, fired.size(), "A jump past a full revolution should fire every due value");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Values scheduled while firing should wait for a later tick")
+    void testRescheduleFromCallback() {
+        TimingWheel<String> wheel = new TimingWheel<>(16);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("pull", 10);
+
+        wheel.advance(10, value -> {
+            fired.add(value);
+            wheel.schedule("impact", 10);
+        });
+        assertEquals(List.of("pull"), fired, "Past due values should not fire in the same pass");
+        assertEquals(1, wheel.size());
+
+        wheel.advance(11, fired::add);
+        assertEquals(List.of("pull", "impact"), fired);
+    }
+
+    @Test
+    @DisplayName("Clearing should rewind the wheel")
+    void testClear() {
+        TimingWheel<String> wheel = new TimingWheel<>(16);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule("old", 5000);
+        wheel.advance(1000, fired::add);
+        wheel.clear();
+
+        wheel.schedule("new", 3);
+        wheel.advance(3, fired::add);
+        assertEquals(List.of("new"), fired);
+    }
+
+    @Test
+    @DisplayName("Slot count must be a power of two")
+    void testSlotCountValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(100));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0));
+    }
+}